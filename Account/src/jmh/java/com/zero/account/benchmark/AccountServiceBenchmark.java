@@ -0,0 +1,56 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.dto.AccountDTO;
+import com.zero.account.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 생성 1건당 지연시간 (계좌번호 블록 할당 포함)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AccountServiceBenchmark {
+
+    // 사용자당 계좌는 최대 10개
+    private static final int MAX_ACCOUNT_PER_USER = 10;
+
+    @State(Scope.Benchmark)
+    public static class Context {
+        BenchmarkContext context;
+        AccountService accountService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkContext.start();
+            accountService = context.bean(AccountService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class UserState {
+        Long userId;
+        int created = MAX_ACCOUNT_PER_USER;
+
+        Long nextUserId(Context ctx) {
+            if (created == MAX_ACCOUNT_PER_USER) {
+                // 10번에 한 번 사용자 INSERT 가 측정에 포함된다
+                userId = ctx.context.newAccountUser("bench").getId();
+                created = 0;
+            }
+            created++;
+            return userId;
+        }
+    }
+
+    @Benchmark
+    public AccountDTO createAccount(Context ctx, UserState state) {
+        return ctx.accountService.createAccount(state.nextUserId(ctx), 1000L);
+    }
+}
@@ -0,0 +1,62 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.AccountApplication;
+import com.zero.account.domain.AccountUser;
+import com.zero.account.repository.AccountUserRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.UUID;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트
+ * 인메모리 H2 + 내장 Redis 로 실제 빈 구성(AOP, 트랜잭션, 캐시)을 그대로 띄운다.
+ */
+final class BenchmarkContext implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static BenchmarkContext start(String... properties) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(AccountApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.jpa.open-in-view=false",
+                        "spring.data.redis.host=localhost",
+                        "spring.data.redis.port=" + freePort(),
+                        "logging.level.root=WARN")
+                .properties(properties);
+
+        return new BenchmarkContext(builder.run());
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    AccountUser newAccountUser(String name) {
+        return bean(AccountUserRepository.class).save(AccountUser.builder().name(name).build());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
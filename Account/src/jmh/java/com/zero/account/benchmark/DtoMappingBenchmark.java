@@ -0,0 +1,61 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.Transaction;
+import com.zero.account.dto.TransactionDTO;
+import com.zero.account.dto.UseBalance;
+import com.zero.account.type.AccountStatus;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 -> DTO -> 응답 매핑 비용 (-prof gc 로 할당량 확인)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class DtoMappingBenchmark {
+
+    Transaction transaction;
+    TransactionDTO transactionDTO;
+
+    @Setup
+    public void setUp() {
+        Account account = Account.builder()
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10_000L)
+                .build();
+
+        transaction = Transaction.builder()
+                .transactionType(TransactionType.USE)
+                .transactionResultType(TransactionResultType.S)
+                .account(account)
+                .amount(1_000L)
+                .balanceSnapshot(9_000L)
+                .transactionId("0190d2a4c7e87000a1b2c3d4e5f60718")
+                .transactedAt(LocalDateTime.now())
+                .build();
+
+        transactionDTO = TransactionDTO.toTransactionDTO(transaction);
+    }
+
+    @Benchmark
+    public TransactionDTO toTransactionDTO() {
+        return TransactionDTO.toTransactionDTO(transaction);
+    }
+
+    @Benchmark
+    public UseBalance.Response toUseBalanceResponse() {
+        return UseBalance.Response.toResponse(transactionDTO);
+    }
+
+    @Benchmark
+    public UseBalance.Response toTransactionDTOAndResponse() {
+        return UseBalance.Response.toResponse(TransactionDTO.toTransactionDTO(transaction));
+    }
+}
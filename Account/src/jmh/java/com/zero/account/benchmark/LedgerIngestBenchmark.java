@@ -0,0 +1,82 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.dto.LedgerEntry;
+import com.zero.account.service.AccountService;
+import com.zero.account.service.LedgerIngestService;
+import com.zero.account.service.TransactionIdGenerator;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 원장 INSERT 처리량 (점수는 1건 기준)
+ * batchSize=1 은 JDBC batch 를 끈 것과 같다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class LedgerIngestBenchmark {
+
+    private static final int ENTRIES = 1_000;
+
+    BenchmarkContext context;
+    LedgerIngestService ledgerIngestService;
+    TransactionIdGenerator transactionIdGenerator;
+    String accountNumber;
+
+    @Param({"1", "50"})
+    String batchSize;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("account.jpa.batch-size=" + batchSize);
+        ledgerIngestService = context.bean(LedgerIngestService.class);
+        transactionIdGenerator = context.bean(TransactionIdGenerator.class);
+        accountNumber = context.bean(AccountService.class)
+                .createAccount(context.newAccountUser("bench").getId(), 1_000_000L)
+                .getAccountNumber();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public int ingestInOneTransaction() {
+        return ledgerIngestService.ingest(entries());
+    }
+
+    // 건마다 트랜잭션을 여는 기존 방식에 해당
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public int ingestOneByOne() {
+        int persisted = 0;
+        for (LedgerEntry entry : entries()) {
+            persisted += ledgerIngestService.ingest(List.of(entry));
+        }
+        return persisted;
+    }
+
+    private List<LedgerEntry> entries() {
+        List<LedgerEntry> entries = new ArrayList<>(ENTRIES);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ENTRIES; i++) {
+            entries.add(LedgerEntry.builder()
+                    .accountNumber(accountNumber)
+                    .transactionType(TransactionType.USE)
+                    .transactionResultType(TransactionResultType.S)
+                    .amount(100L)
+                    .transactionId(transactionIdGenerator.nextId())
+                    .transactedAt(now)
+                    .build());
+        }
+        return entries;
+    }
+}
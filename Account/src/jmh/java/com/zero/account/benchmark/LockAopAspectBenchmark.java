@@ -0,0 +1,73 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.aop.AccountLock;
+import com.zero.account.aop.AccountLockIdInterface;
+import com.zero.account.service.LockAopAspect;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LockAopAspect around-advice 자체의 비용
+ * 빈 메서드를 프록시해 락 획득/해제 외의 작업이 측정에 섞이지 않게 한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LockAopAspectBenchmark {
+
+    BenchmarkContext context;
+    LockedTarget target;
+    LockedTarget proxy;
+
+    @Param({"true", "false"})
+    String localLockEnabled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("account.lock.local.enabled=" + localLockEnabled);
+
+        target = new LockedTarget();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(context.bean(LockAopAspect.class));
+        proxy = factory.getProxy();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class RequestState {
+        // 스레드마다 다른 계좌번호로 락 경합을 배제한다
+        final AccountLockIdInterface request = new BenchmarkRequest(
+                String.valueOf(1_000_000_000L + Thread.currentThread().getId()));
+    }
+
+    @Benchmark
+    public Object baseline(RequestState state) {
+        return target.run(state.request);
+    }
+
+    @Benchmark
+    public Object aroundAdvice(RequestState state) {
+        return proxy.run(state.request);
+    }
+
+    public static class LockedTarget {
+        @AccountLock(name = "benchmark")
+        public Object run(AccountLockIdInterface request) {
+            return request;
+        }
+    }
+
+    private record BenchmarkRequest(String accountNumber) implements AccountLockIdInterface {
+        @Override
+        public String getAccountNumber() {
+            return accountNumber;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.zero.account.benchmark;
+
+import com.zero.account.domain.AccountUser;
+import com.zero.account.dto.TransactionDTO;
+import com.zero.account.service.AccountService;
+import com.zero.account.service.TransactionQueryService;
+import com.zero.account.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 사용/취소/조회 1건당 지연시간 (서비스 계층, 락 AOP 제외)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransactionServiceBenchmark {
+
+    private static final long AMOUNT = 100L;
+    private static final int PREPARED_TRANSACTIONS = 20_000;
+
+    @State(Scope.Benchmark)
+    public static class Context {
+        BenchmarkContext context;
+        TransactionService transactionService;
+        AccountService accountService;
+        TransactionQueryService transactionQueryService;
+
+        @Param({"LOCK", "ATOMIC"})
+        String concurrencyMode;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkContext.start("account.concurrency.mode=" + concurrencyMode);
+            transactionService = context.bean(TransactionService.class);
+            accountService = context.bean(AccountService.class);
+            transactionQueryService = context.bean(TransactionQueryService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    /**
+     * 스레드마다 계좌를 따로 두어 락 경합 없이 단건 비용만 측정한다.
+     */
+    @State(Scope.Thread)
+    public static class AccountState {
+        Long userId;
+        String accountNumber;
+        String queryTransactionId;
+        final Deque<String> cancelableTransactionIds = new ArrayDeque<>();
+
+        @Setup(Level.Trial)
+        public void setUp(Context ctx) {
+            AccountUser accountUser = ctx.context.newAccountUser("bench");
+            userId = accountUser.getId();
+            accountNumber = ctx.accountService
+                    .createAccount(userId, Long.MAX_VALUE / 2)
+                    .getAccountNumber();
+            queryTransactionId = ctx.transactionService
+                    .useBalance(userId, accountNumber, AMOUNT)
+                    .getTransactionId();
+        }
+
+        // 취소 대상 거래는 측정 구간 밖에서 미리 만들어 둔다
+        @Setup(Level.Iteration)
+        public void prepareCancelable(Context ctx) {
+            cancelableTransactionIds.clear();
+            for (int i = 0; i < PREPARED_TRANSACTIONS; i++) {
+                cancelableTransactionIds.add(ctx.transactionService
+                        .useBalance(userId, accountNumber, AMOUNT)
+                        .getTransactionId());
+            }
+        }
+
+        String nextCancelable(Context ctx) {
+            String transactionId = cancelableTransactionIds.poll();
+            if (transactionId == null) {
+                // 준비한 거래를 다 쓴 경우, 측정 오차를 감수하고 즉석에서 만든다
+                transactionId = ctx.transactionService
+                        .useBalance(userId, accountNumber, AMOUNT)
+                        .getTransactionId();
+            }
+            return transactionId;
+        }
+    }
+
+    @Benchmark
+    public TransactionDTO useBalance(Context ctx, AccountState state) {
+        return ctx.transactionService.useBalance(state.userId, state.accountNumber, AMOUNT);
+    }
+
+    @Benchmark
+    public TransactionDTO cancelBalance(Context ctx, AccountState state) {
+        return ctx.transactionService.cancelBalance(state.nextCancelable(ctx), state.accountNumber, AMOUNT);
+    }
+
+    // 커밋 직후 캐시에 들어간 거래 조회 (DB 왕복 없음)
+    @Benchmark
+    public TransactionDTO queryTransaction(Context ctx, AccountState state) {
+        return ctx.transactionQueryService.queryTransaction(state.queryTransactionId);
+    }
+}
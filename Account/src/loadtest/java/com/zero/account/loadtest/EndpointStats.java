@@ -0,0 +1,64 @@
+package com.zero.account.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 지연시간(µs) 히스토그램과 결과 집계
+ */
+final class EndpointStats {
+
+    static final String LOCK_FAILURE = "ACCOUNT_TRANSACTION_LOCK";
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String endpoint;
+    private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @param errorCode 성공이면 null
+     */
+    void record(long latencyNanos, String errorCode) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        requests.increment();
+        if (errorCode == null) {
+            successes.increment();
+        } else {
+            errors.computeIfAbsent(errorCode, k -> new LongAdder()).increment();
+        }
+    }
+
+    Snapshot snapshot() {
+        Map<String, Long> errorCounts = new TreeMap<>();
+        errors.forEach((code, count) -> errorCounts.put(code, count.sum()));
+        return new Snapshot(endpoint, recorder.getIntervalHistogram(), requests.sum(), successes.sum(), errorCounts);
+    }
+
+    record Snapshot(String endpoint,
+                    Histogram histogram,
+                    long requests,
+                    long successes,
+                    Map<String, Long> errors) {
+
+        long lockFailures() {
+            return errors.getOrDefault(LOCK_FAILURE, 0L);
+        }
+
+        long failures() {
+            return requests - successes;
+        }
+    }
+}
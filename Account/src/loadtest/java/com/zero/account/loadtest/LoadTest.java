@@ -0,0 +1,216 @@
+package com.zero.account.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zero.account.AccountApplication;
+import com.zero.account.domain.AccountUser;
+import com.zero.account.repository.AccountUserRepository;
+import com.zero.account.service.AccountService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /transaction/use, /transaction/cancel 부하 테스트
+ * 내장 Redis + 인메모리 H2 로 애플리케이션을 띄우고 계좌를 만든 뒤,
+ * 설정한 워크로드로 요청을 보내 결과를 리포트 파일로 남긴다.
+ * <p>
+ * 에러는 HTTP 200 + ErrorResponse(errorCode) 로 내려오므로 본문의 errorCode 로 판별한다.
+ */
+public class LoadTest {
+
+    private static final long INITIAL_BALANCE = 1_000_000_000_000L;
+
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final EndpointStats useStats = new EndpointStats("/transaction/use");
+    private final EndpointStats cancelStats = new EndpointStats("/transaction/cancel");
+
+    private URI baseUri;
+    private final List<TestAccount> accounts = new ArrayList<>();
+
+    LoadTest(LoadTestProperties properties) {
+        this.properties = properties;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestProperties properties = LoadTestProperties.fromSystemProperties();
+
+        try (ConfigurableApplicationContext context = startApplication(properties)) {
+            LoadTest loadTest = new LoadTest(properties);
+            loadTest.baseUri = URI.create("http://localhost:"
+                    + ((WebServerApplicationContext) context).getWebServer().getPort());
+            loadTest.seedAccounts(context);
+
+            Path report = loadTest.run();
+            System.out.println("load test report: " + report.toAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestProperties properties) throws IOException {
+        int redisPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+
+        return new SpringApplicationBuilder(AccountApplication.class)
+                .properties(
+                        "server.port=0",
+                        // 서버 요청 처리 스레드: 가상 스레드 vs Tomcat 플랫폼 스레드 풀
+                        "spring.threads.virtual.enabled=" + properties.virtualThreads(),
+                        "server.tomcat.threads.max=" + properties.tomcatMaxThreads(),
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.data.redis.host=localhost",
+                        "spring.data.redis.port=" + redisPort,
+                        // 실패 요청마다 찍히는 에러 로그가 측정을 왜곡하지 않도록
+                        "logging.level.root=WARN",
+                        "logging.level.com.zero.account=OFF")
+                .run();
+    }
+
+    /**
+     * 사용자당 계좌는 10개까지라 계좌마다 사용자를 따로 만든다.
+     */
+    private void seedAccounts(ConfigurableApplicationContext context) {
+        AccountUserRepository accountUserRepository = context.getBean(AccountUserRepository.class);
+        AccountService accountService = context.getBean(AccountService.class);
+
+        for (int i = 0; i < properties.accounts(); i++) {
+            AccountUser accountUser = accountUserRepository.save(
+                    AccountUser.builder().name("loadtest-" + i).build());
+            String accountNumber = accountService
+                    .createAccount(accountUser.getId(), INITIAL_BALANCE)
+                    .getAccountNumber();
+            accounts.add(new TestAccount(accountUser.getId(), accountNumber));
+        }
+    }
+
+    Path run() throws Exception {
+        Workload.AccountPicker picker = properties.workload().picker(properties);
+
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + properties.warmup().toNanos();
+        long deadline = measureFrom + properties.duration().toNanos();
+
+        // 요청을 보내는 쪽은 항상 가상 스레드, 동시 요청 수를 늘려도 클라이언트가 병목이 되지 않게 한다
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < properties.threads(); i++) {
+            executor.execute(() -> drive(picker, startedAt, measureFrom, deadline));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(properties.duration().plus(properties.warmup()).toSeconds() + 60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+
+        return LoadTestReport.write(properties, properties.duration(),
+                List.of(useStats.snapshot(), cancelStats.snapshot()));
+    }
+
+    private void drive(Workload.AccountPicker picker, long startedAt, long measureFrom, long deadline) {
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            TestAccount account = accounts.get(picker.next());
+
+            String transactionId = ThreadLocalRandom.current().nextDouble() < properties.cancelRatio()
+                    ? account.cancelable().poll()
+                    : null;
+
+            if (transactionId == null) {
+                use(account, measureFrom);
+            } else {
+                cancel(account, transactionId, measureFrom);
+            }
+
+            long thinkTime = properties.workload()
+                    .thinkTimeMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), properties);
+            if (thinkTime > 0) {
+                try {
+                    Thread.sleep(thinkTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void use(TestAccount account, long measureFrom) {
+        JsonNode response = post(useStats, "/transaction/use", Map.of(
+                "userId", account.userId(),
+                "accountNumber", account.accountNumber(),
+                "amount", properties.amount()), measureFrom);
+
+        if (response != null && response.hasNonNull("transactionId")) {
+            account.cancelable().add(response.get("transactionId").asText());
+        }
+    }
+
+    private void cancel(TestAccount account, String transactionId, long measureFrom) {
+        post(cancelStats, "/transaction/cancel", Map.of(
+                "transactionId", transactionId,
+                "accountNumber", account.accountNumber(),
+                "amount", properties.amount()), measureFrom);
+    }
+
+    /**
+     * @return 성공 응답 본문, 실패면 null
+     */
+    private JsonNode post(EndpointStats stats, String path, Map<String, Object> body, long measureFrom) {
+        long start = System.nanoTime();
+        JsonNode response = null;
+        String errorCode;
+        try {
+            HttpResponse<String> httpResponse = httpClient.send(
+                    HttpRequest.newBuilder(baseUri.resolve(path))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            if (httpResponse.statusCode() != 200) {
+                errorCode = "HTTP_" + httpResponse.statusCode();
+            } else {
+                response = objectMapper.readTree(httpResponse.body());
+                errorCode = response.hasNonNull("errorCode") ? response.get("errorCode").asText() : null;
+            }
+        } catch (IOException e) {
+            errorCode = "IO_ERROR";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        if (start >= measureFrom) {
+            stats.record(System.nanoTime() - start, errorCode);
+        }
+        return errorCode == null ? response : null;
+    }
+
+    private record TestAccount(Long userId, String accountNumber, Queue<String> cancelable) {
+        TestAccount(Long userId, String accountNumber) {
+            this(userId, accountNumber, new ConcurrentLinkedQueue<>());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.zero.account.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 부하 테스트 설정, 시스템 프로퍼티(loadtest.*)로 덮어쓴다.
+ */
+record LoadTestProperties(
+        Workload workload,
+        int accounts,
+        int threads,
+        Duration warmup,
+        Duration duration,
+        double cancelRatio,
+        long amount,
+        double zipfExponent,
+        Duration burstPeriod,
+        Duration burstLength,
+        Duration idleThinkTime,
+        boolean virtualThreads,
+        int tomcatMaxThreads,
+        Path reportDir
+) {
+
+    static LoadTestProperties fromSystemProperties() {
+        return new LoadTestProperties(
+                Workload.valueOf(get("workload", "UNIFORM").toUpperCase()),
+                Integer.parseInt(get("accounts", "200")),
+                Integer.parseInt(get("threads", "32")),
+                Duration.ofSeconds(Long.parseLong(get("warmup-seconds", "5"))),
+                Duration.ofSeconds(Long.parseLong(get("duration-seconds", "30"))),
+                Double.parseDouble(get("cancel-ratio", "0.2")),
+                Long.parseLong(get("amount", "100")),
+                Double.parseDouble(get("zipf-exponent", "1.1")),
+                Duration.ofMillis(Long.parseLong(get("burst-period-millis", "5000"))),
+                Duration.ofMillis(Long.parseLong(get("burst-length-millis", "1000"))),
+                Duration.ofMillis(Long.parseLong(get("idle-think-millis", "100"))),
+                Boolean.parseBoolean(get("virtual-threads", "false")),
+                Integer.parseInt(get("tomcat-max-threads", "200")),
+                Path.of(get("report-dir", "build/reports/loadtest"))
+        );
+    }
+
+    private static String get(String key, String defaultValue) {
+        return System.getProperty("loadtest." + key, defaultValue);
+    }
+}
@@ -0,0 +1,75 @@
+package com.zero.account.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 엔드포인트별 요약과 HdrHistogram 백분위 분포(.hgrm 형식)를 텍스트 파일로 남긴다.
+ */
+final class LoadTestReport {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private LoadTestReport() {
+    }
+
+    static Path write(LoadTestProperties properties,
+                      Duration measured,
+                      List<EndpointStats.Snapshot> snapshots) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8)) {
+            out.println("# " + properties);
+            out.println();
+
+            double seconds = measured.toMillis() / 1000.0;
+            for (EndpointStats.Snapshot snapshot : snapshots) {
+                Histogram histogram = snapshot.histogram();
+
+                out.printf("## %s%n", snapshot.endpoint());
+                out.printf("requests            %d%n", snapshot.requests());
+                out.printf("throughput (req/s)  %.1f%n", snapshot.requests() / seconds);
+                out.printf("error rate          %.4f%n", rate(snapshot.failures(), snapshot.requests()));
+                out.printf("lock failure rate   %.4f%n", rate(snapshot.lockFailures(), snapshot.requests()));
+                out.printf("latency (ms)        p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                        millis(histogram, 50.0),
+                        millis(histogram, 90.0),
+                        millis(histogram, 99.0),
+                        millis(histogram, 99.9),
+                        histogram.getMaxValue() / 1000.0);
+                snapshot.errors().forEach((code, count) ->
+                        out.printf("  %-32s %d%n", code, count));
+                out.println();
+                // µs 단위로 기록했으므로 1000 으로 나눠 ms 로 출력
+                histogram.outputPercentileDistribution(out, 1000.0);
+                out.println();
+            }
+        }
+
+        Files.createDirectories(properties.reportDir());
+        Path report = properties.reportDir().resolve(
+                properties.workload().name().toLowerCase()
+                        + (properties.virtualThreads() ? "-virtual-" : "-platform-")
+                        + LocalDateTime.now().format(FILE_TIMESTAMP) + ".txt");
+        Files.write(report, buffer.toByteArray());
+        System.out.print(buffer.toString(StandardCharsets.UTF_8));
+        return report;
+    }
+
+    private static double rate(long count, long total) {
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.zero.account.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 계좌 선택 분포와 요청 간격
+ * UNIFORM : 모든 계좌에 고르게, 쉬지 않고 요청
+ * ZIPFIAN : 소수의 hot 계좌에 요청이 몰림
+ * BURST   : 주기적으로 burstLength 동안만 몰아서 요청하고 나머지는 idleThinkTime 간격으로 드문드문 요청
+ */
+enum Workload {
+    UNIFORM,
+    ZIPFIAN,
+    BURST;
+
+    AccountPicker picker(LoadTestProperties properties) {
+        if (this == ZIPFIAN) {
+            return new ZipfianAccountPicker(properties.accounts(), properties.zipfExponent());
+        }
+        int accounts = properties.accounts();
+        return () -> ThreadLocalRandom.current().nextInt(accounts);
+    }
+
+    /**
+     * @param elapsedMillis 테스트 시작 후 경과 시간
+     * @return 다음 요청 전 대기 시간(ms)
+     */
+    long thinkTimeMillis(long elapsedMillis, LoadTestProperties properties) {
+        if (this != BURST) {
+            return 0L;
+        }
+        long phase = elapsedMillis % properties.burstPeriod().toMillis();
+        return phase < properties.burstLength().toMillis() ? 0L : properties.idleThinkTime().toMillis();
+    }
+
+    interface AccountPicker {
+        int next();
+    }
+
+    /**
+     * P(k) ∝ 1 / k^s, 0번 계좌가 가장 hot 하다.
+     */
+    static final class ZipfianAccountPicker implements AccountPicker {
+        private final double[] cumulative;
+
+        ZipfianAccountPicker(int accounts, double exponent) {
+            cumulative = new double[accounts];
+            double sum = 0;
+            for (int k = 0; k < accounts; k++) {
+                sum += 1.0 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < accounts; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        @Override
+        public int next() {
+            double u = ThreadLocalRandom.current().nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < u) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
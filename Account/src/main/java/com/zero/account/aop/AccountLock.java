@@ -7,5 +7,27 @@ import java.lang.annotation.*;
 @Documented
 @Inherited
 public @interface AccountLock {
-    long tryLockTime() default 5000L;
+
+    long DEFAULT_TRY_LOCK_TIME = 5000L;
+
+    /**
+     * account.lock.policies.{name} 설정 키, 비어있으면 메서드 이름
+     */
+    String name() default "";
+
+    /**
+     * 락 대기 시간(ms)
+     */
+    long tryLockTime() default DEFAULT_TRY_LOCK_TIME;
+
+    /**
+     * 락 임대 시간(ms), -1 이면 Redisson watchdog 이 작업이 끝날 때까지 임대를 연장
+     */
+    long leaseTime() default -1L;
+
+    /**
+     * true 이면 hot account 요청은 요청마다 락을 잡지 않는다.
+     * 메서드가 HotAccountAccumulator 로 넘겨 모아서 한 번에 락을 잡는 경우에만 사용
+     */
+    boolean hotAccountRouting() default false;
 }
@@ -0,0 +1,14 @@
+package com.zero.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * Idempotency-Key 헤더가 있으면 같은 키의 재요청에 저장된 응답을 돌려준다.
+ * value 는 키 범위(엔드포인트 이름), 같은 키라도 범위가 다르면 별개의 요청이다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Idempotent {
+    String value();
+}
@@ -0,0 +1,9 @@
+package com.zero.account.aop;
+
+/**
+ * @Idempotent 메서드의 요청 본문
+ * 같은 Idempotency-Key 라도 요청한 사용자/계좌가 다르면 별개의 키가 된다.
+ */
+public interface IdempotentRequest {
+    String idempotencyOwner();
+}
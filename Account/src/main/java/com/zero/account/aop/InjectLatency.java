@@ -0,0 +1,14 @@
+package com.zero.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * fault-injection 프로파일에서만 동작하는 지연 주입 지점
+ * value 는 fault-injection.endpoints 하위의 엔드포인트 이름
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface InjectLatency {
+    String value();
+}
@@ -0,0 +1,12 @@
+package com.zero.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * OPTIMISTIC 모드에서 버전 충돌 시 트랜잭션 전체를 재시도
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface OptimisticRetry {
+}
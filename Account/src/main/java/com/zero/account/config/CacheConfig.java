@@ -0,0 +1,44 @@
+package com.zero.account.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 변경되지 않는 조회 결과용 로컬 캐시
+ * 등록된 캐시는 actuator 가 cache.gets / cache.evictions 지표로 노출한다.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ACCOUNT_USER = "accountUser";
+    public static final String ACCOUNT_KEY = "accountKey";
+    public static final String ACCOUNT_LIST = "accountList";
+    public static final String IDEMPOTENCY = "idempotency";
+    public static final String TRANSACTION = "transaction";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${account.cache.account-user.spec:maximumSize=100000,expireAfterWrite=10m}") String accountUserSpec,
+            @Value("${account.cache.account-key.spec:maximumSize=100000,expireAfterWrite=10m}") String accountKeySpec,
+            // 잔액 변경 시 무효화하지 않으므로 짧은 TTL 로만 사용, maximumSize=0 이면 사실상 비활성
+            @Value("${account.cache.account-list.spec:maximumSize=10000,expireAfterWrite=1s}") String accountListSpec,
+            // Redis 에 저장된 응답의 로컬 사본, TTL 은 account.idempotency.ttl 보다 짧게
+            @Value("${account.cache.idempotency.spec:maximumSize=100000,expireAfterWrite=10m}") String idempotencySpec,
+            // 거래는 저장 후 바뀌지 않으므로 크기 제한만 두고 최근 거래 위주로 남긴다
+            @Value("${account.cache.transaction.spec:maximumSize=100000}") String transactionSpec
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(ACCOUNT_USER, Caffeine.from(accountUserSpec).recordStats().build());
+        cacheManager.registerCustomCache(ACCOUNT_KEY, Caffeine.from(accountKeySpec).recordStats().build());
+        cacheManager.registerCustomCache(ACCOUNT_LIST, Caffeine.from(accountListSpec).recordStats().build());
+        cacheManager.registerCustomCache(IDEMPOTENCY, Caffeine.from(idempotencySpec).recordStats().build());
+        cacheManager.registerCustomCache(TRANSACTION, Caffeine.from(transactionSpec).recordStats().build());
+        return cacheManager;
+    }
+}
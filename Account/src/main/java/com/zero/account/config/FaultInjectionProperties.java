@@ -0,0 +1,23 @@
+package com.zero.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * fault-injection.endpoints.{endpoint}.{percentile}={delay(ms)}
+ * ex) fault-injection.endpoints.transaction-use.p50=0
+ *     fault-injection.endpoints.transaction-use.p99=5000
+ *     fault-injection.endpoints.transaction-use.[p99.9]=8000
+ * 소수점이 있는 백분위는 키가 점에서 나뉘지 않도록 대괄호로 감싼다(yml 은 "[p99.9]": 8000).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "fault-injection")
+public class FaultInjectionProperties {
+
+    private Map<String, Map<String, Long>> endpoints = new LinkedHashMap<>();
+}
@@ -0,0 +1,27 @@
+package com.zero.account.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * INSERT/UPDATE JDBC batch 설정
+ * 시퀀스 id(Account, Transaction)는 pooled-lo 로 allocationSize 만큼 미리 받아 INSERT 마다 조회하지 않는다.
+ */
+@Configuration
+public class HibernateConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateBatchCustomizer(
+            @Value("${account.jpa.batch-size:50}") int batchSize
+    ) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+            properties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.zero.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "account.lock")
+public class LockProperties {
+
+    private Local local = new Local();
+
+    /**
+     * @AccountLock 값을 덮어쓰는 엔드포인트별 정책
+     * ex) account.lock.policies.transaction-use.wait-time=500ms
+     */
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Local {
+        /**
+         * 같은 JVM 안의 요청을 Redis 락 이전에 직렬화할지 여부
+         */
+        private boolean enabled = true;
+
+        /**
+         * 로컬 락 개수 (2의 거듭제곱으로 올림)
+         */
+        private int stripes = 256;
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+        private Duration waitTime;
+
+        /**
+         * 음수이면 watchdog 사용
+         */
+        private Duration leaseTime;
+    }
+}
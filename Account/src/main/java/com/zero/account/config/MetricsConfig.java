@@ -0,0 +1,32 @@
+package com.zero.account.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 서비스 @Timed 타이머와 Hibernate 통계
+ * HTTP 요청, 리포지토리 호출, HikariCP 커넥션 풀 지표는 actuator 가 자동으로 등록한다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * 켜져 있으면 actuator 가 hibernate.statements, hibernate.flushes 등을 노출한다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer(
+            @Value("${account.metrics.hibernate-statistics:true}") boolean enabled
+    ) {
+        return properties -> properties.put(AvailableSettings.GENERATE_STATISTICS, enabled);
+    }
+}
@@ -5,19 +5,21 @@ import com.zero.account.dto.AccountDTO;
 import com.zero.account.dto.AccountInfo;
 import com.zero.account.dto.CreatedAccount;
 import com.zero.account.dto.DeleteAccount;
+import com.zero.account.dto.LedgerBalance;
 import com.zero.account.service.AccountService;
+import com.zero.account.service.LedgerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 
 @RequiredArgsConstructor
 @RestController
 public class AccountController {
     private final AccountService accountService;
+    private final LedgerService ledgerService;
 
     @PostMapping("/account")
     public CreatedAccount.Response createAccount(
@@ -39,16 +41,16 @@ public class AccountController {
 
     @GetMapping("/account")
     public List<AccountInfo> getAccountList(
-            @RequestParam("user_id") Long userId
+            @RequestParam("user_id") Long userId,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "10") int size
     ) {
-        return accountService.getAccountByUserId(userId)
-                .stream()
-                .map(accountDTO -> AccountInfo.builder()
-                        .accountNumber(accountDTO.getAccountNumber())
-                        .balance(accountDTO.getBalance())
-                        .build())
-                .collect(Collectors.toList());
+        return accountService.getAccountByUserId(userId, after, size);
+    }
 
+    @GetMapping("/account/{accountNumber}/balance")
+    public LedgerBalance getLedgerBalance(@PathVariable String accountNumber) {
+        return ledgerService.getBalance(accountNumber);
     }
 
     @GetMapping("/account/{id}")
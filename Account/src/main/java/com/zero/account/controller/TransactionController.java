@@ -1,21 +1,39 @@
 package com.zero.account.controller;
 
 import com.zero.account.aop.AccountLock;
+import com.zero.account.aop.Idempotent;
+import com.zero.account.aop.InjectLatency;
 import com.zero.account.dto.CancelBalance;
 import com.zero.account.dto.QueryTransactionResponse;
+import com.zero.account.dto.TransactionHistory;
 import com.zero.account.dto.UseBalance;
+import com.zero.account.dto.UseBalanceBatch;
 import com.zero.account.exception.AccountException;
+import com.zero.account.service.AccountCommandDispatcher;
+import com.zero.account.service.HotAccountAccumulator;
+import com.zero.account.service.HotAccountDetector;
+import com.zero.account.service.TransactionBatchService;
+import com.zero.account.service.TransactionQueryService;
 import com.zero.account.service.TransactionService;
+import com.zero.account.type.ExportFormat;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 /**
  * TransactionController
  * 1. 잔액 사용
  * 2. 잔액 사용 취소
  * 3. 거래확인
+ * 4. 잔액 사용 일괄 처리
+ * 5. 계좌 거래 내역 조회 / 내보내기
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -23,18 +41,32 @@ import org.springframework.web.bind.annotation.*;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionQueryService transactionQueryService;
+    private final HotAccountDetector hotAccountDetector;
+    private final HotAccountAccumulator hotAccountAccumulator;
+    private final AccountCommandDispatcher accountCommandDispatcher;
 
     @PostMapping("/transaction/use")
-    @AccountLock
+    @Idempotent("transaction-use")
+    @AccountLock(name = "transaction-use", hotAccountRouting = true)
+    @InjectLatency("transaction-use")
     public UseBalance.Response useBalance(
             @RequestBody @Valid UseBalance.Request useBalanceRequest
-    ) throws InterruptedException {
+    ) {
+        if (hotAccountDetector.isHot(useBalanceRequest.getAccountNumber())) {
+            // 실패 거래 기록은 일괄 처리 쪽에서 한다
+            return UseBalance.Response.toResponse(hotAccountAccumulator.useBalance(useBalanceRequest));
+        }
+
         try{
-            Thread.sleep(5000L);
-            return UseBalance.Response.toResponse(transactionService.useBalance(
-                    useBalanceRequest.getUserId(),
+            return UseBalance.Response.toResponse(accountCommandDispatcher.execute(
                     useBalanceRequest.getAccountNumber(),
-                    useBalanceRequest.getAmount()
+                    () -> transactionService.useBalance(
+                            useBalanceRequest.getUserId(),
+                            useBalanceRequest.getAccountNumber(),
+                            useBalanceRequest.getAmount()
+                    )
             ));
         } catch (AccountException ex){
             log.error("transactionUse error", ex);
@@ -48,16 +80,31 @@ public class TransactionController {
         }
     }
 
+    /**
+     * 계좌별로 락과 트랜잭션을 한 번씩만 잡는다. 건별 실패는 결과의 errorCode 로 돌려준다.
+     */
+    @PostMapping("/transaction/use/batch")
+    public List<UseBalanceBatch.Result> useBalanceBatch(
+            @RequestBody @Valid UseBalanceBatch.Request useBalanceBatchRequest
+    ) {
+        return transactionBatchService.useBalances(useBalanceBatchRequest.getItems());
+    }
+
     @PostMapping("/transaction/cancel")
-    @AccountLock
+    @Idempotent("transaction-cancel")
+    @AccountLock(name = "transaction-cancel")
+    @InjectLatency("transaction-cancel")
     public CancelBalance.Response cancelBalance(
             @RequestBody @Valid CancelBalance.Request useBalanceRequest
     ){
         try{
-            return CancelBalance.toResponse(transactionService.cancelBalance(
-                    useBalanceRequest.getTransactionId(),
+            return CancelBalance.toResponse(accountCommandDispatcher.execute(
                     useBalanceRequest.getAccountNumber(),
-                    useBalanceRequest.getAmount()
+                    () -> transactionService.cancelBalance(
+                            useBalanceRequest.getTransactionId(),
+                            useBalanceRequest.getAccountNumber(),
+                            useBalanceRequest.getAmount()
+                    )
             ));
         } catch (AccountException ex){
             log.error("transactionCancel error", ex);
@@ -71,13 +118,41 @@ public class TransactionController {
         }
     }
 
+    @GetMapping("/account/{accountNumber}/transactions")
+    public TransactionHistory.Response getTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        return transactionQueryService.getTransactionHistory(accountNumber, after, size);
+    }
+
+    /**
+     * 응답은 비동기로 스트리밍되므로, 계좌 확인은 응답을 시작하기 전에 끝낸다.
+     */
+    @GetMapping("/account/{accountNumber}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format
+    ) {
+        Long accountId = transactionQueryService.getAccountId(accountNumber);
+
+        StreamingResponseBody body = outputStream ->
+                transactionQueryService.exportTransactionHistory(accountId, format, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
+                        + accountNumber + "-transactions." + format.name().toLowerCase() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/transaction/{transactionId}")
     public QueryTransactionResponse.Response getTransactionInfo(
             @PathVariable String transactionId
     ){
-        transactionService.queryTransaction(transactionId);
         return QueryTransactionResponse.toResponse(
-                transactionService.queryTransaction(transactionId)
+                transactionQueryService.queryTransaction(transactionId)
         );
     }
 }
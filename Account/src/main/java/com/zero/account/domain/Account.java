@@ -3,10 +3,7 @@ package com.zero.account.domain;
 import com.zero.account.exception.AccountException;
 import com.zero.account.type.AccountStatus;
 import com.zero.account.type.ErrorCode;
-import jakarta.persistence.Entity;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -17,9 +14,19 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_account_account_number", columnNames = "account_number"),
+        indexes = @Index(name = "idx_account_account_user_id_account_number", columnList = "account_user_id, account_number")
+)
 public class Account extends BaseEntity{
 
-    @ManyToOne
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_id_seq")
+    @SequenceGenerator(name = "account_id_seq", sequenceName = "account_id_seq", allocationSize = 50)
+    private Long id;
+
+    // 대부분의 경로는 accountUser 의 id 만 비교하므로 LAZY, 필요한 곳은 EntityGraph 로 함께 조회
+    @ManyToOne(fetch = FetchType.LAZY)
     private AccountUser accountUser;
 
     private String accountNumber;
@@ -33,6 +40,13 @@ public class Account extends BaseEntity{
 
     private LocalDateTime unRegisteredAt;
 
+    @Version
+    private Long version;
+
+    // 성공한 USE/CANCEL 거래마다 1씩 증가, 거래의 ledgerSequence 로 기록된다
+    @Builder.Default
+    private Long ledgerSequence = 0L;
+
     public void unRegister() {
         this.accountStatus = AccountStatus.UNREGISTERED;
         this.unRegisteredAt = LocalDateTime.now();
@@ -43,6 +57,7 @@ public class Account extends BaseEntity{
             throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
         }
         this.balance = this.balance - amount;
+        this.ledgerSequence++;
     }
 
     public void cancelUseBalance(Long amount) {
@@ -50,5 +65,6 @@ public class Account extends BaseEntity{
             throw new AccountException(ErrorCode.INVALID_REQUEST);
         }
         this.balance = this.balance + amount;
+        this.ledgerSequence++;
     }
 }
@@ -0,0 +1,35 @@
+package com.zero.account.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * ledgerSequence 번째 거래까지 반영한 계좌 잔액
+ * 잔액 = 가장 최근 스냅샷 + 그 이후 거래(ledgerSequence 초과)의 합
+ */
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_account_balance_snapshot_account_id_ledger_sequence",
+                columnNames = {"account_id", "ledger_sequence"})
+)
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountBalanceSnapshot extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+
+    private Long ledgerSequence;
+
+    private Long balance;
+}
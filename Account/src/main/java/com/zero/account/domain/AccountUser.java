@@ -1,6 +1,9 @@
 package com.zero.account.domain;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import lombok.*;
 
 @Setter
@@ -10,6 +13,11 @@ import lombok.*;
 @Builder
 @Entity
 public class AccountUser extends BaseEntity{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
     private String name;
 
 }
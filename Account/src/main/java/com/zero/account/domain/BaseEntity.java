@@ -17,9 +17,7 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class BaseEntity {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    // id 생성 전략은 엔티티마다 다르므로 각 엔티티에 둔다
 
     @CreatedDate
     private LocalDateTime createdAt;
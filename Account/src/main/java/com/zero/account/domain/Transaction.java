@@ -14,19 +14,34 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_transaction_transaction_id", columnNames = "transaction_id"),
+                @UniqueConstraint(name = "uk_transaction_original_transaction_id", columnNames = "original_transaction_id"),
+                @UniqueConstraint(name = "uk_transaction_account_id_ledger_sequence", columnNames = {"account_id", "ledger_sequence"})
+        },
+        indexes = @Index(name = "idx_transaction_account_id_transacted_at_id", columnList = "account_id, transacted_at, id")
+)
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Transaction extends BaseEntity{
 
+    // IDENTITY 는 INSERT 마다 키를 돌려받아야 해서 JDBC batch 가 꺼진다
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_id_seq")
+    @SequenceGenerator(name = "transaction_id_seq", sequenceName = "transaction_id_seq", allocationSize = 50)
+    private Long id;
+
     @Enumerated(EnumType.STRING)
     private TransactionType transactionType;
 
     @Enumerated(EnumType.STRING)
     private TransactionResultType transactionResultType;
 
-    @ManyToOne
+    // 취소 검증은 account id 만 쓰고, 조회는 DTO projection 을 쓰므로 LAZY
+    @ManyToOne(fetch = FetchType.LAZY)
     private Account account;
 
     private Long amount;
@@ -35,5 +50,11 @@ public class Transaction extends BaseEntity{
 
     private String transactionId;
 
+    // CANCEL 거래가 취소한 USE 거래의 transactionId, 거래당 취소는 한 번뿐이므로 unique
+    private String originalTransactionId;
+
     private LocalDateTime transactedAt;
+
+    // 계좌 안에서의 원장 순번, 실패 거래는 null
+    private Long ledgerSequence;
 }
@@ -0,0 +1,9 @@
+package com.zero.account.dto;
+
+public interface AccountBalanceView {
+    Long getId();
+
+    Long getBalance();
+
+    Long getLedgerSequence();
+}
@@ -0,0 +1,14 @@
+package com.zero.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 계좌번호로 찾은 계좌의 변하지 않는 식별 정보
+ */
+@Getter
+@AllArgsConstructor
+public class AccountKey {
+    private Long id;
+    private Long userId;
+}
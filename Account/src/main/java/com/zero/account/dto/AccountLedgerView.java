@@ -0,0 +1,5 @@
+package com.zero.account.dto;
+
+public interface AccountLedgerView extends AccountBalanceView {
+    String getAccountNumber();
+}
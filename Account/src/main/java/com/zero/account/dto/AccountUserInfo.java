@@ -0,0 +1,20 @@
+package com.zero.account.dto;
+
+import com.zero.account.domain.AccountUser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 캐시에 두는 사용자 정보
+ * 엔티티 대신 변하지 않는 값만 담아 스레드와 영속성 컨텍스트 사이에서 공유해도 안전하다.
+ */
+@Getter
+@AllArgsConstructor
+public class AccountUserInfo {
+    private final Long id;
+    private final String name;
+
+    public static AccountUserInfo fromEntity(AccountUser accountUser) {
+        return new AccountUserInfo(accountUser.getId(), accountUser.getName());
+    }
+}
@@ -1,10 +1,12 @@
 package com.zero.account.dto;
 
 import com.zero.account.aop.AccountLockIdInterface;
+import com.zero.account.aop.IdempotentRequest;
 import com.zero.account.type.TransactionResultType;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
@@ -23,7 +25,7 @@ public class CancelBalance {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static class Request implements AccountLockIdInterface {
+    public static class Request implements AccountLockIdInterface, IdempotentRequest {
 
         @NotBlank
         private String transactionId;
@@ -36,6 +38,12 @@ public class CancelBalance {
         @Min(10)
         @Max(1_000_000_000L)
         private Long amount;
+
+        // 취소 요청에는 사용자가 없으므로 계좌 범위로 나눈다
+        @Override
+        public String idempotencyOwner() {
+            return accountNumber;
+        }
     }
 
     /**
@@ -50,6 +58,7 @@ public class CancelBalance {
 
     @Getter
     @Setter
+    @NoArgsConstructor
     @AllArgsConstructor
     public static class Response implements AccountLockIdInterface{
 
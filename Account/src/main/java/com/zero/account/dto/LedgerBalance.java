@@ -0,0 +1,15 @@
+package com.zero.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 원장(스냅샷 + 이후 거래)에서 계산한 잔액
+ */
+@Getter
+@AllArgsConstructor
+public class LedgerBalance {
+    private String accountNumber;
+    private Long balance;
+    private Long ledgerSequence;
+}
@@ -0,0 +1,26 @@
+package com.zero.account.dto;
+
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대량 적재용 거래 원장 항목
+ * balanceSnapshot 이 null 이면 적재 시점의 계좌 잔액을 사용한다.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class LedgerEntry {
+    private String accountNumber;
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+    private Long amount;
+    private Long balanceSnapshot;
+    private String transactionId;
+    private LocalDateTime transactedAt;
+}
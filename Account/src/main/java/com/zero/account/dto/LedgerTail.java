@@ -0,0 +1,16 @@
+package com.zero.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 스냅샷 이후 원장 거래의 합계
+ */
+@Getter
+@AllArgsConstructor
+public class LedgerTail {
+    // CANCEL 은 +, USE 는 -
+    private Long amount;
+    // 거래가 없으면 스냅샷의 순번
+    private Long lastLedgerSequence;
+}
@@ -0,0 +1,13 @@
+package com.zero.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 거래가 저장되었음을 알리는 이벤트, 커밋 이후 조회 캐시를 채우는 데 사용
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionCreatedEvent {
+    private final TransactionDTO transaction;
+}
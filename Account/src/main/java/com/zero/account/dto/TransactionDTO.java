@@ -27,8 +27,15 @@ public class TransactionDTO {
     private LocalDateTime transactedAt;
 
     public static TransactionDTO toTransactionDTO(Transaction transaction){
+        return toTransactionDTO(transaction, transaction.getAccount().getAccountNumber());
+    }
+
+    /**
+     * 계좌번호를 이미 알고 있을 때 Account 프록시를 초기화하지 않도록 사용
+     */
+    public static TransactionDTO toTransactionDTO(Transaction transaction, String accountNumber){
         return TransactionDTO.builder()
-                .accountNumber(transaction.getAccount().getAccountNumber())
+                .accountNumber(accountNumber)
                 .transactionType(transaction.getTransactionType())
                 .transactionResultType(transaction.getTransactionResultType())
                 .amount(transaction.getAmount())
@@ -0,0 +1,51 @@
+package com.zero.account.dto;
+
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 계좌 거래 내역, 최신 거래부터 (transactedAt, id) 역순
+ */
+public class TransactionHistory {
+
+    @Getter
+    @AllArgsConstructor
+    public static class Response {
+        private List<TransactionHistoryItem> transactions;
+        // 마지막 페이지면 null
+        private String next;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+        private LocalDateTime transactedAt;
+        private Long id;
+
+        public static Cursor of(TransactionHistoryItem item) {
+            return new Cursor(item.getTransactedAt(), item.getId());
+        }
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((transactedAt + "," + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String value) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8)
+                        .split(",", 2);
+                return new Cursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new AccountException(ErrorCode.INVALID_REQUEST, "invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.zero.account.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 내역 한 건, 조회/내보내기 모두 엔티티 없이 이 projection 으로 읽는다
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionHistoryItem {
+    // 다음 페이지 커서용, 응답에는 내보내지 않는다
+    @JsonIgnore
+    private Long id;
+    private String transactionId;
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+    private Long amount;
+    private Long balanceSnapshot;
+    private LocalDateTime transactedAt;
+}
@@ -1,6 +1,7 @@
 package com.zero.account.dto;
 
 import com.zero.account.aop.AccountLockIdInterface;
+import com.zero.account.aop.IdempotentRequest;
 import com.zero.account.type.TransactionResultType;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -12,7 +13,7 @@ public class UseBalance {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static class Request implements AccountLockIdInterface {
+    public static class Request implements AccountLockIdInterface, IdempotentRequest {
         @NotNull
         @Min(1)
         private Long userId;
@@ -24,6 +25,11 @@ public class UseBalance {
         @Min(1)
         @Max(1_000_000_000L)
         private Long amount;
+
+        @Override
+        public String idempotencyOwner() {
+            return userId + ":" + AccountNumber;
+        }
     }
 
     @Getter
@@ -50,5 +56,15 @@ public class UseBalance {
                     .transactedAt(transactionDTO.getTransactedAt())
                     .build();
         }
+
+        public static Response toResponse(UseBalanceBatch.Result result) {
+            return Response.builder()
+                    .accountNumber(result.getAccountNumber())
+                    .transactionResultType(result.getTransactionResultType())
+                    .transactionId(result.getTransactionId())
+                    .amount(result.getAmount())
+                    .transactedAt(result.getTransactedAt())
+                    .build();
+        }
     }
 }
@@ -0,0 +1,75 @@
+package com.zero.account.dto;
+
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class UseBalanceBatch {
+
+    /**
+     * {
+     * "items": [
+     *   {"userId": 1, "accountNumber": "1000000000", "amount": 1000},
+     *   {"userId": 1, "accountNumber": "1000000000", "amount": 2000}
+     * ]
+     * }
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        @NotEmpty
+        @Size(max = 1000)
+        private List<@Valid UseBalance.Request> items;
+    }
+
+    /**
+     * 요청 items 와 같은 순서, 실패한 건은 errorCode 가 채워진다.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result {
+        private String accountNumber;
+        private TransactionResultType transactionResultType;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public static Result success(TransactionDTO transactionDTO) {
+            return Result.builder()
+                    .accountNumber(transactionDTO.getAccountNumber())
+                    .transactionResultType(transactionDTO.getTransactionResultType())
+                    .transactionId(transactionDTO.getTransactionId())
+                    .amount(transactionDTO.getAmount())
+                    .transactedAt(transactionDTO.getTransactedAt())
+                    .build();
+        }
+
+        public static Result failure(String accountNumber, Long amount, AccountException e) {
+            return Result.builder()
+                    .accountNumber(accountNumber)
+                    .transactionResultType(TransactionResultType.F)
+                    .amount(amount)
+                    .errorCode(e.getErrorCode())
+                    .errorMessage(e.getMessage())
+                    .build();
+        }
+
+        public boolean isFailed() {
+            return errorCode != null;
+        }
+    }
+}
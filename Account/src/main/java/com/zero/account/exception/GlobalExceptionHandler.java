@@ -2,37 +2,61 @@ package com.zero.account.exception;
 
 import com.zero.account.dto.ErrorResponse;
 import com.zero.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final Map<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            errorCounters.put(errorCode, Counter.builder("account.errors")
+                    .tag("code", errorCode.name())
+                    .register(meterRegistry));
+        }
+    }
+
     @ExceptionHandler(AccountException.class)
     public ErrorResponse handleAccountException(AccountException e) {
         log.error("{} is occurred", e.getMessage());
-        return new ErrorResponse(e.getErrorCode(), e.getMessage());
+        return errorResponse(e.getErrorCode(), e.getMessage());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ErrorResponse handleException(MethodArgumentNotValidException e) {
         log.error("{} is occurred", e.getMessage());
-        return new ErrorResponse(ErrorCode.INVALID_REQUEST, e.getMessage());
+        return errorResponse(ErrorCode.INVALID_REQUEST, e.getMessage());
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ErrorResponse handleException(DataIntegrityViolationException e) {
         log.error("{} is occurred", e.getMessage());
-        return new ErrorResponse(ErrorCode.INVALID_REQUEST, e.getMessage());
+        return errorResponse(ErrorCode.INVALID_REQUEST, e.getMessage());
     }
 
     @ExceptionHandler(Exception.class)
     public ErrorResponse handleException(Exception e) {
         log.error("{} is occurred", e.getMessage());
-        return new ErrorResponse(ErrorCode.INTERNAL_SERVER_ERROR, e.getMessage());
+        return errorResponse(ErrorCode.INTERNAL_SERVER_ERROR, e.getMessage());
+    }
+
+    /**
+     * ErrorCode 별 account.errors 카운터 증가
+     * 에러도 HTTP 200 으로 응답하므로 http.server.requests 의 status 로는 구분되지 않는다.
+     */
+    private ErrorResponse errorResponse(ErrorCode errorCode, String message) {
+        errorCounters.get(errorCode).increment();
+        return new ErrorResponse(errorCode, message);
     }
 }
@@ -0,0 +1,13 @@
+package com.zero.account.repository;
+
+import com.zero.account.domain.AccountBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, Long> {
+
+    Optional<AccountBalanceSnapshot> findTopByAccountIdOrderByLedgerSequenceDesc(Long accountId);
+}
@@ -1,21 +1,112 @@
 package com.zero.account.repository;
 
+import com.zero.account.config.CacheConfig;
 import com.zero.account.domain.Account;
 import com.zero.account.domain.AccountUser;
+import com.zero.account.dto.AccountBalanceView;
+import com.zero.account.dto.AccountLedgerView;
+import com.zero.account.dto.AccountInfo;
+import com.zero.account.dto.AccountKey;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
-    Optional<Account> findFirstByOrderByIdDesc();
+    @Query(value = "SELECT NEXT VALUE FOR account_number_seq", nativeQuery = true)
+    long reserveAccountNumberBlock();
+
+    /**
+     * account_number_seq 의 INCREMENT BY (AccountNumberAllocator 의 구간 크기)
+     */
+    @Query(value = "SELECT CAST(INCREMENT AS BIGINT) FROM INFORMATION_SCHEMA.SEQUENCES"
+            + " WHERE UPPER(SEQUENCE_NAME) = 'ACCOUNT_NUMBER_SEQ'", nativeQuery = true)
+    Long findAccountNumberSequenceIncrement();
 
     Integer countByAccountUser(AccountUser accountUser);
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
-    List<Account> findAllByAccountUser(AccountUser accountUser);
+    /**
+     * 계좌 엔티티를 그대로 응답할 때 사용, accountUser 를 한 번의 join 으로 함께 읽는다
+     */
+    @EntityGraph(attributePaths = "accountUser")
+    Optional<Account> findWithAccountUserById(Long id);
+
+    /**
+     * 계좌번호 기준 keyset 페이지네이션, 엔티티 없이 계좌번호와 잔액만 조회
+     */
+    @Query("select new com.zero.account.dto.AccountInfo(a.accountNumber, a.balance) from Account a " +
+            "where a.accountUser.id = :userId and a.accountNumber > :after " +
+            "order by a.accountNumber")
+    List<AccountInfo> findAccountInfos(@Param("userId") Long userId,
+                                       @Param("after") String after,
+                                       Pageable pageable);
+
+    @Cacheable(cacheNames = CacheConfig.ACCOUNT_KEY, unless = "#result == null")
+    @Query("select new com.zero.account.dto.AccountKey(a.id, a.accountUser.id) from Account a " +
+            "where a.accountNumber = :accountNumber")
+    Optional<AccountKey> findKeyByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("select a.id as id, a.balance as balance, a.ledgerSequence as ledgerSequence from Account a " +
+            "where a.accountNumber = :accountNumber")
+    Optional<AccountBalanceView> findBalanceViewByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("select a.id as id, a.accountNumber as accountNumber, a.balance as balance, " +
+            "a.ledgerSequence as ledgerSequence from Account a " +
+            "where a.accountNumber in :accountNumbers")
+    List<AccountLedgerView> findLedgerViewsByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    /**
+     * 검증과 차감을 한 문장으로 처리, 조건이 맞지 않으면 0 을 반환
+     * 같은 트랜잭션에서 이어지는 실패 사유 판별이 이전에 읽은 계좌 대신 갱신된 값을 읽도록 영속성 컨텍스트를 비운다.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, a.version = a.version + 1, " +
+            "a.ledgerSequence = a.ledgerSequence + 1, a.updatedAt = :now " +
+            "where a.accountNumber = :accountNumber " +
+            "and a.accountUser.id = :userId " +
+            "and a.accountStatus = com.zero.account.type.AccountStatus.IN_USE " +
+            "and a.balance >= :amount")
+    int debit(@Param("accountNumber") String accountNumber,
+              @Param("userId") Long userId,
+              @Param("amount") Long amount,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * 마지막 스냅샷 이후 거래가 interval 건 이상 쌓인 계좌, 밀린 순
+     * snapshot_lag(V8) 인덱스로 찾으므로 새 거래가 없는 계좌는 읽지 않는다.
+     */
+    @Query(value = "SELECT id FROM account WHERE snapshot_lag >= :interval ORDER BY snapshot_lag DESC",
+            nativeQuery = true)
+    List<Long> findAccountIdsDueForSnapshot(@Param("interval") long interval,
+                                            Pageable pageable);
+
+    /**
+     * 스냅샷을 남긴 원장 순번을 기록한다. 계좌 엔티티의 version 은 올리지 않아 진행 중인 거래와 충돌하지 않는다.
+     */
+    @Modifying
+    @Query(value = "UPDATE account SET last_snapshot_sequence = :ledgerSequence " +
+            "WHERE id = :id AND last_snapshot_sequence < :ledgerSequence", nativeQuery = true)
+    int updateLastSnapshotSequence(@Param("id") Long id,
+                                   @Param("ledgerSequence") long ledgerSequence);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :amount, a.version = a.version + 1, " +
+            "a.ledgerSequence = a.ledgerSequence + 1, a.updatedAt = :now " +
+            "where a.id = :id")
+    int credit(@Param("id") Long id,
+               @Param("amount") Long amount,
+               @Param("now") LocalDateTime now);
 }
@@ -1,10 +1,24 @@
 package com.zero.account.repository;
 
+import com.zero.account.config.CacheConfig;
 import com.zero.account.domain.AccountUser;
+import com.zero.account.dto.AccountUserInfo;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface AccountUserRepository extends JpaRepository<AccountUser, Long> {
 
+    /**
+     * 사용자는 생성 후 변경되지 않으므로 캐시에서 조회 (없는 사용자는 캐시하지 않음)
+     * 연관관계가 필요하면 getReferenceById 로 현재 영속성 컨텍스트의 프록시를 쓴다.
+     */
+    @Cacheable(cacheNames = CacheConfig.ACCOUNT_USER, unless = "#result == null")
+    @Query("select new com.zero.account.dto.AccountUserInfo(u.id, u.name) from AccountUser u where u.id = :id")
+    Optional<AccountUserInfo> findInfoById(@Param("id") Long id);
 }
@@ -1,12 +1,81 @@
 package com.zero.account.repository;
 
 import com.zero.account.domain.Transaction;
+import com.zero.account.dto.TransactionDTO;
+import com.zero.account.dto.LedgerTail;
+import com.zero.account.dto.TransactionHistoryItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction,Long> {
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    /**
+     * 거래 조회용, 엔티티 없이 계좌번호와 거래 컬럼만 읽는다
+     */
+    @Query("select new com.zero.account.dto.TransactionDTO(a.accountNumber, t.transactionType, " +
+            "t.transactionResultType, t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt) " +
+            "from Transaction t join t.account a where t.transactionId = :transactionId")
+    Optional<TransactionDTO> findTransactionDTOByTransactionId(@Param("transactionId") String transactionId);
+
+    /**
+     * 거래 내역 첫 페이지, (account_id, transacted_at, id) 인덱스를 역순으로 읽는다
+     */
+    @Query("select new com.zero.account.dto.TransactionHistoryItem(t.id, t.transactionId, t.transactionType, " +
+            "t.transactionResultType, t.amount, t.balanceSnapshot, t.transactedAt) " +
+            "from Transaction t where t.account.id = :accountId " +
+            "order by t.transactedAt desc, t.id desc")
+    List<TransactionHistoryItem> findHistory(@Param("accountId") Long accountId,
+                                              Pageable pageable);
+
+    /**
+     * 거래 내역 다음 페이지, 이전 페이지 마지막 (transactedAt, id) 이후부터
+     */
+    @Query("select new com.zero.account.dto.TransactionHistoryItem(t.id, t.transactionId, t.transactionType, " +
+            "t.transactionResultType, t.amount, t.balanceSnapshot, t.transactedAt) " +
+            "from Transaction t where t.account.id = :accountId " +
+            "and (t.transactedAt < :transactedAt or (t.transactedAt = :transactedAt and t.id < :id)) " +
+            "order by t.transactedAt desc, t.id desc")
+    List<TransactionHistoryItem> findHistoryAfter(@Param("accountId") Long accountId,
+                                                   @Param("transactedAt") LocalDateTime transactedAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    /**
+     * 내보내기용, 엔티티 대신 DTO 를 fetch size 단위로 읽어 영속성 컨텍스트에 쌓이지 않게 한다.
+     * 트랜잭션 안에서 소비하고 닫아야 한다.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.zero.account.dto.TransactionHistoryItem(t.id, t.transactionId, t.transactionType, " +
+            "t.transactionResultType, t.amount, t.balanceSnapshot, t.transactedAt) " +
+            "from Transaction t where t.account.id = :accountId " +
+            "order by t.transactedAt desc, t.id desc")
+    Stream<TransactionHistoryItem> streamHistory(@Param("accountId") Long accountId);
+
+    /**
+     * ledgerSequence 가 after 보다 큰 원장 거래의 합, (account_id, ledger_sequence) unique 인덱스로 읽는다
+     */
+    @Query("select new com.zero.account.dto.LedgerTail(" +
+            "coalesce(sum(case when t.transactionType = com.zero.account.type.TransactionType.USE " +
+            "then -t.amount else t.amount end), 0L), " +
+            "coalesce(max(t.ledgerSequence), :after)) " +
+            "from Transaction t where t.account.id = :accountId " +
+            "and t.transactionResultType = com.zero.account.type.TransactionResultType.S " +
+            "and t.ledgerSequence > :after")
+    LedgerTail findLedgerTail(@Param("accountId") Long accountId,
+                              @Param("after") Long after);
+
+    boolean existsByOriginalTransactionId(String originalTransactionId);
 }
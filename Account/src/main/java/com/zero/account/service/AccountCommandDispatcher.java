@@ -0,0 +1,171 @@
+package com.zero.account.service;
+
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ConcurrencyMode;
+import com.zero.account.type.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * ACTOR 모드의 계좌별 단일 writer
+ * 계좌번호 해시로 고정된 단일 스레드 executor 를 골라 같은 계좌의 명령을 도착 순서대로 하나씩 실행한다.
+ * 같은 계좌의 명령이 동시에 실행되지 않으므로 계좌 락(LockService)을 잡지 않는다.
+ * <p>
+ * 한 노드 안에서만 순서를 보장한다. 여러 노드로 띄우면 @Version 충돌이 날 수 있으니 LOCK 모드를 쓴다.
+ * ACTOR 모드가 아니면 호출 스레드에서 바로 실행한다.
+ * <p>
+ * mailbox 는 account.actor.mailbox-capacity 만큼만 받고, 넘치면 ACCOUNT_TRANSACTION_LOCK 으로 바로 거절한다.
+ * 요청 스레드는 account.actor.wait-timeout-ms 까지만 기다리며, 그때까지 시작하지 못한 명령은 실행하지 않는다.
+ */
+@Slf4j
+@Component
+public class AccountCommandDispatcher {
+
+    private static final ThreadLocal<Boolean> ON_ACTOR = ThreadLocal.withInitial(() -> false);
+
+    private final ExecutorService[] mailboxes;
+    private final long waitTimeoutMillis;
+
+    public AccountCommandDispatcher(
+            @Value("${account.concurrency.mode:LOCK}") ConcurrencyMode concurrencyMode,
+            @Value("${account.actor.executors:8}") int executors,
+            @Value("${account.actor.mailbox-capacity:1000}") int mailboxCapacity,
+            // 일괄 처리 명령은 계좌 락을 최대 5s 기다리므로 그보다 길게 둔다
+            @Value("${account.actor.wait-timeout-ms:10000}") long waitTimeoutMillis
+    ) {
+        if (executors < 1 || mailboxCapacity < 1 || waitTimeoutMillis < 1) {
+            throw new IllegalArgumentException("executors, mailbox capacity and wait timeout must be positive");
+        }
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        if (concurrencyMode != ConcurrencyMode.ACTOR) {
+            this.mailboxes = null;
+            return;
+        }
+        this.mailboxes = new ExecutorService[executors];
+        for (int i = 0; i < executors; i++) {
+            String name = "account-actor-" + i;
+            ThreadFactory threadFactory = r -> {
+                Thread thread = new Thread(() -> {
+                    ON_ACTOR.set(true);
+                    r.run();
+                }, name);
+                thread.setDaemon(true);
+                return thread;
+            };
+            // 단일 스레드 + 크기가 정해진 mailbox, 넘치면 RejectedExecutionException
+            mailboxes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(mailboxCapacity), threadFactory);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (mailboxes == null) {
+            return;
+        }
+        for (ExecutorService mailbox : mailboxes) {
+            mailbox.shutdown();
+        }
+        // 이미 받은 명령은 끝까지 처리한다
+        for (ExecutorService mailbox : mailboxes) {
+            if (!mailbox.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("account actor did not terminate in time");
+            }
+        }
+    }
+
+    /**
+     * 명령이 끝날 때까지 기다린다. 명령이 던진 예외는 감싸지 않고 그대로 던진다.
+     * wait-timeout 안에 시작하지 못한 명령은 실행하지 않고 ACCOUNT_TRANSACTION_LOCK 을 던진다.
+     * 이미 시작한 명령은 결과를 알 수 없게 끊지 않고 끝까지 기다린다.
+     */
+    public <T> T execute(String accountNumber, Supplier<T> command) {
+        if (mailboxes == null || ON_ACTOR.get()) {
+            // actor 안에서 다시 보내면 자기 mailbox 를 기다리며 멈추므로 그 자리에서 실행한다
+            return command.get();
+        }
+        Command<T> queued = enqueue(accountNumber, command);
+        try {
+            return queued.future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (queued.started.compareAndSet(false, true)) {
+                // 아직 mailbox 에서 기다리는 중이므로 actor 는 이 명령을 건너뛴다
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            log.warn("account actor command is slow, waiting for in-flight result : {}", accountNumber);
+            try {
+                return queued.future.join();
+            } catch (CompletionException completionException) {
+                throw unwrap(completionException.getCause(), completionException);
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause(), new CompletionException(e.getCause()));
+        }
+    }
+
+    private <T> Command<T> enqueue(String accountNumber, Supplier<T> supplier) {
+        Command<T> command = new Command<>(supplier);
+        try {
+            mailboxOf(accountNumber).execute(command);
+        } catch (RejectedExecutionException e) {
+            // mailbox 가 가득 찼거나 종료 중이면 뒤에 줄 세우지 않고 바로 거절한다
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        return command;
+    }
+
+    private static RuntimeException unwrap(Throwable cause, RuntimeException fallback) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return fallback;
+    }
+
+    private ExecutorService mailboxOf(String accountNumber) {
+        return mailboxes[Math.floorMod(accountNumber.hashCode(), mailboxes.length)];
+    }
+
+    private static final class Command<T> implements Runnable {
+        private final Supplier<T> supplier;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        // actor 가 실행을 시작했거나 요청 스레드가 기다림을 포기했으면 true, 먼저 바꾼 쪽이 이긴다
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        private Command(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.zero.account.service;
+
+import com.zero.account.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계좌번호 발급기
+ * DB 시퀀스(account_number_seq)에서 blockSize 만큼의 번호 구간을 예약한 뒤
+ * 구간 안에서는 AtomicLong 으로만 번호를 발급한다.
+ * blockSize 는 시퀀스의 INCREMENT BY 값이어야 번호가 겹치지 않으므로, 설정 대신 시작 시 시퀀스 정의에서 읽는다.
+ */
+@Slf4j
+@Component
+public class AccountNumberAllocator {
+
+    private static final long MAX_ACCOUNT_NUMBER = 9_999_999_999L;
+
+    private final AccountRepository accountRepository;
+    private final long blockSize;
+
+    // synchronized 블록 안에서 JDBC 를 기다리면 가상 스레드가 캐리어 스레드에 고정(pinning)된다
+    private final ReentrantLock reserveLock = new ReentrantLock();
+
+    private volatile Block block = new Block(0L, 0L);
+
+    @Autowired
+    public AccountNumberAllocator(AccountRepository accountRepository) {
+        this(accountRepository, sequenceIncrementOf(accountRepository));
+    }
+
+    AccountNumberAllocator(AccountRepository accountRepository, long blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("block size must be positive : " + blockSize);
+        }
+        this.accountRepository = accountRepository;
+        this.blockSize = blockSize;
+    }
+
+    private static long sequenceIncrementOf(AccountRepository accountRepository) {
+        Long increment = accountRepository.findAccountNumberSequenceIncrement();
+        if (increment == null) {
+            throw new IllegalStateException("account_number_seq not found");
+        }
+        return increment;
+    }
+
+    public String nextAccountNumber() {
+        while (true) {
+            Block current = block;
+            long number = current.next.getAndIncrement();
+            if (number < current.limit) {
+                return Long.toString(number);
+            }
+            reserve(current);
+        }
+    }
+
+    private void reserve(Block exhausted) {
+        reserveLock.lock();
+        try {
+            if (block != exhausted) {
+                // 다른 스레드가 이미 새 구간을 예약함
+                return;
+            }
+            long start = accountRepository.reserveAccountNumberBlock();
+            if (start + blockSize - 1 > MAX_ACCOUNT_NUMBER) {
+                throw new IllegalStateException("account number exhausted : " + start);
+            }
+            log.debug("Reserved account number block [{}, {})", start, start + blockSize);
+            block = new Block(start, start + blockSize);
+        } finally {
+            reserveLock.unlock();
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit;
+
+        private Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
@@ -1,50 +1,74 @@
 package com.zero.account.service;
 
+import com.zero.account.config.CacheConfig;
 import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountBalanceSnapshot;
 import com.zero.account.domain.AccountUser;
 import com.zero.account.dto.AccountDTO;
+import com.zero.account.dto.AccountInfo;
+import com.zero.account.dto.AccountUserInfo;
 import com.zero.account.exception.AccountException;
+import com.zero.account.repository.AccountBalanceSnapshotRepository;
 import com.zero.account.repository.AccountRepository;
 import com.zero.account.repository.AccountUserRepository;
 import com.zero.account.type.AccountStatus;
 import com.zero.account.type.ErrorCode;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 
+@Timed(value = "account.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class AccountService {
 
+    private static final int MAX_ACCOUNT_PAGE_SIZE = 100;
+
     private final AccountRepository accountRepository;
 
     private final AccountUserRepository accountUserRepository;
 
+    private final AccountNumberAllocator accountNumberAllocator;
+
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ACCOUNT_LIST, allEntries = true)
     public AccountDTO createAccount(Long userId, Long initialBalance) {
 
-        AccountUser accountUser = getAccountUser(userId);
+        AccountUser accountUser = accountUserRepository.getReferenceById(getAccountUser(userId).getId());
 
         validateCreateAccount(accountUser);
 
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
-                .map(account -> Integer.valueOf(account.getAccountNumber()) + 1 + "")
-                .orElse("1000000000");
+        String newAccountNumber = accountNumberAllocator.nextAccountNumber();
 
-        return AccountDTO.toAccountDto(accountRepository.save(
+        Account account = accountRepository.save(
                 Account.builder()
                         .accountUser(accountUser)
                         .accountStatus(AccountStatus.IN_USE)
                         .accountNumber(newAccountNumber)
                         .balance(initialBalance)
                         .registeredAt(LocalDateTime.now())
-                        .build()));
+                        .build());
+
+        // 초기 잔액은 거래가 아니므로 0번 스냅샷으로 원장의 시작점을 남긴다
+        snapshotRepository.save(AccountBalanceSnapshot.builder()
+                .account(account)
+                .ledgerSequence(0L)
+                .balance(initialBalance)
+                .build());
+
+        return AccountDTO.toAccountDto(account);
     }
 
     private void validateCreateAccount(AccountUser accountUser) {
@@ -58,13 +82,17 @@ public class AccountService {
         if (id < 0) {
             throw new RuntimeException("minus id");
         }
-        return accountRepository.findById(id).get();
+        return accountRepository.findWithAccountUserById(id).get();
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ACCOUNT_KEY, key = "#accountNumber"),
+            @CacheEvict(cacheNames = CacheConfig.ACCOUNT_LIST, allEntries = true)
+    })
     public AccountDTO deleteAccount(Long userId, String accountNumber) {
 
-        AccountUser accountUser = getAccountUser(userId);
+        AccountUserInfo accountUser = getAccountUser(userId);
 
         Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow(
                 () -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)
@@ -78,13 +106,13 @@ public class AccountService {
         return AccountDTO.toAccountDto(account);
     }
 
-    private AccountUser getAccountUser(Long userId) {
-        return accountUserRepository.findById(userId).orElseThrow(
+    private AccountUserInfo getAccountUser(Long userId) {
+        return accountUserRepository.findInfoById(userId).orElseThrow(
                 () -> new AccountException(ErrorCode.USER_NOT_FOUND)
         );
     }
 
-    private void validateDeleteAccount(AccountUser accountUser, Account account) {
+    private void validateDeleteAccount(AccountUserInfo accountUser, Account account) {
         if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
             throw new AccountException(ErrorCode.USER__ACCOUNT_UNMATCHED);
         }
@@ -98,14 +126,17 @@ public class AccountService {
         }
     }
 
+    /**
+     * @param after 이전 페이지의 마지막 계좌번호, 첫 페이지는 null
+     */
     @Transactional
-    public List<AccountDTO> getAccountByUserId(Long userId) {
-        AccountUser accountUser = getAccountUser(userId);
-
-        List<Account> accounts = accountRepository.findAllByAccountUser(accountUser);
-
-        return accounts.stream()
-                .map(AccountDTO::toAccountDto)
-                .collect(Collectors.toList());
+    @Cacheable(cacheNames = CacheConfig.ACCOUNT_LIST, key = "#userId + ':' + #after + ':' + #size")
+    public List<AccountInfo> getAccountByUserId(Long userId, String after, int size) {
+        getAccountUser(userId);
+
+        return accountRepository.findAccountInfos(
+                userId,
+                after == null ? "" : after,
+                PageRequest.of(0, Math.min(Math.max(size, 1), MAX_ACCOUNT_PAGE_SIZE)));
     }
 }
@@ -0,0 +1,170 @@
+package com.zero.account.service;
+
+import com.zero.account.dto.LedgerEntry;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 실패 거래 기록기
+ * 요청 스레드는 큐에 넣기만 하고, 백그라운드 writer 가 모아서 LedgerIngestService 로 batch INSERT 한다.
+ * 큐가 가득 차 offerTimeout 안에 넣지 못하면 요청 스레드에서 바로 기록한다(backpressure).
+ * <p>
+ * balance_snapshot 은 기록 시점의 잔액이다. 실패 거래는 잔액을 바꾸지 않으므로 대부분 요청 시점과 같다.
+ */
+@Slf4j
+@Component
+public class FailedTransactionRecorder {
+
+    private final LedgerIngestService ledgerIngestService;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final BlockingQueue<LedgerEntry> queue;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+
+    private final Counter synchronousCounter;
+    private final Counter writeErrorCounter;
+
+    // record 는 read lock 안에서 running 확인과 offer 를 함께 하고, stop 은 write lock 으로 running 을 내린다.
+    // stop 이 running 을 내린 뒤에는 큐에 들어오는 기록이 없으므로 마지막 flush 가 빠뜨리지 않는다.
+    private final ReadWriteLock enqueueLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread writer;
+
+    public FailedTransactionRecorder(
+            LedgerIngestService ledgerIngestService,
+            TransactionIdGenerator transactionIdGenerator,
+            MeterRegistry meterRegistry,
+            @Value("${account.failed-transaction.queue-capacity:10000}") int queueCapacity,
+            @Value("${account.failed-transaction.batch-size:100}") int batchSize,
+            @Value("${account.failed-transaction.offer-timeout-ms:10}") long offerTimeoutMillis
+    ) {
+        if (queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("queue capacity and batch size must be positive");
+        }
+        this.ledgerIngestService = ledgerIngestService;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+
+        Gauge.builder("account.failed-transaction.queue", queue, BlockingQueue::size)
+                .register(meterRegistry);
+        this.synchronousCounter = Counter.builder("account.failed-transaction.synchronous")
+                .description("큐가 가득 차 요청 스레드에서 기록한 건수")
+                .register(meterRegistry);
+        this.writeErrorCounter = Counter.builder("account.failed-transaction.write.errors")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "failed-transaction-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 종료 시 writer 를 멈추고 큐에 남은 실패 거래를 모두 기록한다.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        enqueueLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            enqueueLock.writeLock().unlock();
+        }
+        if (writer != null) {
+            // 기록 중인 batch 가 끊기지 않도록 interrupt 대신 poll 타임아웃으로 빠져나오게 한다
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        flush();
+    }
+
+    public void record(String accountNumber, Long amount, TransactionType transactionType) {
+        LedgerEntry failedTransaction = LedgerEntry.builder()
+                .accountNumber(accountNumber)
+                .transactionType(transactionType)
+                .transactionResultType(TransactionResultType.F)
+                .amount(amount)
+                .transactionId(transactionIdGenerator.nextId())
+                .transactedAt(LocalDateTime.now())
+                .build();
+
+        boolean queued;
+        enqueueLock.readLock().lock();
+        try {
+            queued = running && queue.offer(failedTransaction, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        } finally {
+            enqueueLock.readLock().unlock();
+        }
+
+        if (!queued) {
+            synchronousCounter.increment();
+            write(List.of(failedTransaction));
+        }
+    }
+
+    /**
+     * 큐가 빌 때까지 batchSize 단위로 기록
+     */
+    void flush() {
+        List<LedgerEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void drainLoop() {
+        List<LedgerEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                LedgerEntry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // 남은 큐는 stop() 에서 기록한다
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<LedgerEntry> batch) {
+        try {
+            ledgerIngestService.ingest(batch);
+        } catch (RuntimeException e) {
+            // 실패 거래 기록이 원래 요청의 응답이나 writer 를 막지 않도록 로그만 남긴다
+            log.error("Failed to record {} failed transactions", batch.size(), e);
+            writeErrorCounter.increment(batch.size());
+        }
+    }
+}
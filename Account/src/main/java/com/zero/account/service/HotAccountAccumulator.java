@@ -0,0 +1,242 @@
+package com.zero.account.service;
+
+import com.zero.account.dto.UseBalance;
+import com.zero.account.dto.UseBalanceBatch;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * hot account 의 잔액 사용을 계좌별로 모아 한 번에 처리한다 (group commit).
+ * 요청 스레드는 계좌 큐에 넣고 결과를 기다리며, 계좌마다 한 번에 하나의 writer 만 큐를 비운다.
+ * 모인 요청은 TransactionBatchService 로 넘겨 락 한 번, 계좌 행 갱신 한 번, INSERT batch 한 번으로 처리된다.
+ * <p>
+ * 첫 요청 이후 account.hot.linger-ms 만큼 기다렸다가 비우고, 처리 중 쌓인 요청은 기다리지 않고 바로 이어서 비운다.
+ * <p>
+ * 요청 스레드는 account.hot.wait-timeout-ms 까지만 기다린다. 그때까지 묶음에 들어가지 못한 요청은 처리하지 않고
+ * ACCOUNT_TRANSACTION_LOCK 으로 끝낸다. 이미 묶음에 들어간 요청은 결과를 알 수 없게 끊지 않고 끝까지 기다린다.
+ */
+@Slf4j
+@Component
+public class HotAccountAccumulator {
+
+    private final TransactionBatchService transactionBatchService;
+    private final ScheduledExecutorService writers;
+    private final Map<String, AccountBuffer> buffers = new ConcurrentHashMap<>();
+    private final int maxBatchSize;
+    private final long lingerMillis;
+    private final int queueCapacity;
+    private final long waitTimeoutMillis;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Counter rejectedCounter;
+    private final Counter timeoutCounter;
+
+    public HotAccountAccumulator(
+            TransactionBatchService transactionBatchService,
+            MeterRegistry meterRegistry,
+            @Value("${account.hot.max-batch-size:200}") int maxBatchSize,
+            @Value("${account.hot.linger-ms:5}") long lingerMillis,
+            @Value("${account.hot.queue-capacity:10000}") int queueCapacity,
+            @Value("${account.hot.writer-threads:4}") int writerThreads,
+            // 앞 묶음의 락 대기(transaction-use-batch, 5s)와 자기 묶음의 처리 시간보다 길게 둔다
+            @Value("${account.hot.wait-timeout-ms:10000}") long waitTimeoutMillis
+    ) {
+        if (maxBatchSize < 1 || queueCapacity < 1 || writerThreads < 1 || waitTimeoutMillis < 1) {
+            throw new IllegalArgumentException(
+                    "batch size, queue capacity, writer threads and wait timeout must be positive");
+        }
+        this.transactionBatchService = transactionBatchService;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMillis = lingerMillis;
+        this.queueCapacity = queueCapacity;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = Executors.newScheduledThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "hot-account-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.batchSizeSummary = DistributionSummary.builder("account.hot.batch.size")
+                .description("한 번에 처리한 hot account 잔액 사용 건수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("account.hot.rejected")
+                .description("계좌 큐가 가득 차 거절한 건수")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("account.hot.timeout")
+                .description("wait-timeout 안에 묶음에 들어가지 못해 처리하지 않은 건수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 예약된 drain 은 shutdown 이후에도 실행되어 대기 중인 요청을 마저 처리한다
+        writers.shutdown();
+        writers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 처리될 때까지 기다렸다가 결과를 돌려준다. 실패한 건은 AccountException 으로 던진다.
+     * 실패 거래 기록은 TransactionBatchService 가 한다.
+     */
+    public UseBalanceBatch.Result useBalance(UseBalance.Request request) {
+        AccountBuffer buffer = buffers.computeIfAbsent(request.getAccountNumber(), k -> new AccountBuffer());
+        PendingUse pending = new PendingUse(request);
+        if (!buffer.offer(pending)) {
+            rejectedCounter.increment();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        scheduleDrain(buffer, lingerMillis);
+
+        UseBalanceBatch.Result result = await(pending);
+        if (result.isFailed()) {
+            throw new AccountException(result.getErrorCode(), result.getErrorMessage());
+        }
+        return result;
+    }
+
+    private UseBalanceBatch.Result await(PendingUse pending) {
+        try {
+            return pending.future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (pending.taken.compareAndSet(false, true)) {
+                // 아직 묶음에 들어가지 않았으므로 writer 는 이 요청을 건너뛴다
+                timeoutCounter.increment();
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            log.warn("hot account batch is slow, waiting for in-flight result : {}",
+                    pending.request.getAccountNumber());
+            try {
+                return pending.future.join();
+            } catch (CompletionException completionException) {
+                throw unwrap(completionException.getCause(), completionException);
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause(), new CompletionException(e.getCause()));
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause, RuntimeException fallback) {
+        return cause instanceof RuntimeException runtimeException ? runtimeException : fallback;
+    }
+
+    private void scheduleDrain(AccountBuffer buffer, long delayMillis) {
+        if (!buffer.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writers.schedule(() -> drain(buffer), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중이면 요청 스레드에서 바로 처리한다
+            drain(buffer);
+        }
+    }
+
+    private void drain(AccountBuffer buffer) {
+        try {
+            List<PendingUse> batch = buffer.poll(maxBatchSize);
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        } finally {
+            buffer.scheduled.set(false);
+            if (!buffer.isEmpty()) {
+                scheduleDrain(buffer, 0);
+            }
+        }
+    }
+
+    private void flush(List<PendingUse> batch) {
+        batchSizeSummary.record(batch.size());
+
+        List<UseBalance.Request> requests = new ArrayList<>(batch.size());
+        for (PendingUse pending : batch) {
+            requests.add(pending.request);
+        }
+
+        try {
+            List<UseBalanceBatch.Result> results = transactionBatchService.useBalances(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.error("hot account flush error : {}", requests.get(0).getAccountNumber(), e);
+            for (PendingUse pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class PendingUse {
+        private final UseBalance.Request request;
+        private final CompletableFuture<UseBalanceBatch.Result> future = new CompletableFuture<>();
+        // writer 가 묶음에 넣었거나 요청 스레드가 기다림을 포기했으면 true, 먼저 바꾼 쪽이 이긴다
+        private final AtomicBoolean taken = new AtomicBoolean();
+
+        private PendingUse(UseBalance.Request request) {
+            this.request = request;
+        }
+    }
+
+    /**
+     * 계좌별 대기 큐, scheduled 가 true 인 동안에는 다른 drain 이 예약되지 않는다 (single writer).
+     * hot account 는 소수라 한 번 만든 큐는 지우지 않는다.
+     */
+    private final class AccountBuffer {
+        private final ConcurrentLinkedQueue<PendingUse> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        boolean offer(PendingUse pending) {
+            if (size.incrementAndGet() > queueCapacity) {
+                size.decrementAndGet();
+                return false;
+            }
+            queue.add(pending);
+            return true;
+        }
+
+        List<PendingUse> poll(int max) {
+            List<PendingUse> batch = new ArrayList<>(Math.min(max, size.get()));
+            PendingUse pending;
+            while (batch.size() < max && (pending = queue.poll()) != null) {
+                size.decrementAndGet();
+                if (pending.taken.compareAndSet(false, true)) {
+                    batch.add(pending);
+                }
+            }
+            return batch;
+        }
+
+        boolean isEmpty() {
+            return queue.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.zero.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 잔액 사용 요청이 몰리는 계좌(hot account) 판별
+ * 직전/현재 1초 구간의 요청 수가 account.hot.threshold-per-second 이상이거나 account.hot.accounts 에 지정된 계좌를 hot 으로 본다.
+ * 한 요청 안에서는 처음 판정한 결과를 요청 속성에 남겨 락 AOP 와 컨트롤러가 같은 결정을 따르게 한다.
+ */
+@Component
+public class HotAccountDetector {
+
+    private static final String DECISION_ATTRIBUTE_PREFIX = HotAccountDetector.class.getName() + ".";
+
+    private final boolean enabled;
+    private final long thresholdPerSecond;
+    private final Set<String> pinnedAccounts;
+    private final Cache<String, RateWindow> windows = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(1))
+            .build();
+
+    public HotAccountDetector(
+            @Value("${account.hot.enabled:false}") boolean enabled,
+            @Value("${account.hot.threshold-per-second:200}") long thresholdPerSecond,
+            @Value("${account.hot.accounts:}") List<String> pinnedAccounts
+    ) {
+        this.enabled = enabled;
+        this.thresholdPerSecond = thresholdPerSecond;
+        this.pinnedAccounts = new HashSet<>(pinnedAccounts);
+    }
+
+    public boolean isHot(String accountNumber) {
+        if (!enabled) {
+            return false;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        String attributeName = DECISION_ATTRIBUTE_PREFIX + accountNumber;
+        if (attributes != null) {
+            Object decision = attributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+            if (decision != null) {
+                return (Boolean) decision;
+            }
+        }
+
+        boolean hot = pinnedAccounts.contains(accountNumber)
+                || windows.get(accountNumber, k -> new RateWindow())
+                .hit(System.currentTimeMillis() / 1000) >= thresholdPerSecond;
+
+        if (attributes != null) {
+            attributes.setAttribute(attributeName, hot, RequestAttributes.SCOPE_REQUEST);
+        }
+        return hot;
+    }
+
+    /**
+     * 1초 단위 요청 수, 구간이 바뀐 직후에도 hot 이 유지되도록 직전 구간 값을 함께 본다.
+     */
+    private static final class RateWindow {
+        private long currentSecond;
+        private long currentCount;
+        private long previousCount;
+
+        synchronized long hit(long second) {
+            if (second != currentSecond) {
+                previousCount = second == currentSecond + 1 ? currentCount : 0;
+                currentSecond = second;
+                currentCount = 0;
+            }
+            return Math.max(++currentCount, previousCount);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.zero.account.service;
+
+import com.zero.account.aop.Idempotent;
+import com.zero.account.aop.IdempotentRequest;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Idempotency-Key 재요청은 계좌 락(LockAopAspect)을 잡기 전에 저장된 응답으로 끝내도록 가장 먼저 동작한다.
+ * 처리 중 예외가 나면 키를 풀어 같은 키로 다시 시도할 수 있다.
+ */
+@Aspect
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+
+    @Around("@annotation(idempotent)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp,
+            Idempotent idempotent
+    ) throws Throwable {
+        String idempotencyKey = currentIdempotencyKey();
+        if (idempotencyKey == null) {
+            return pjp.proceed();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST, "Idempotency-Key is too long");
+        }
+
+        IdempotencyStore.Key key = idempotencyStore.keyOf(idempotent.value(), requestOf(pjp), idempotencyKey);
+        Class<?> responseType = ((MethodSignature) pjp.getSignature()).getReturnType();
+
+        Object stored = idempotencyStore.find(key, responseType);
+        if (stored != null) {
+            log.debug("Idempotent replay : {}", key.getRedisKey());
+            return stored;
+        }
+
+        String claim = idempotencyStore.claim(key);
+        if (claim == null) {
+            // 선점 직전에 다른 요청이 완료했을 수 있다
+            stored = idempotencyStore.find(key, responseType);
+            if (stored != null) {
+                return stored;
+            }
+            throw new AccountException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS);
+        }
+
+        Object response;
+        try {
+            response = pjp.proceed();
+        } catch (Throwable e) {
+            idempotencyStore.release(key, claim);
+            throw e;
+        }
+        idempotencyStore.complete(key, claim, response);
+        return response;
+    }
+
+    private IdempotentRequest requestOf(ProceedingJoinPoint pjp) {
+        for (Object arg : pjp.getArgs()) {
+            if (arg instanceof IdempotentRequest request) {
+                return request;
+            }
+        }
+        throw new IllegalStateException("@Idempotent method needs an IdempotentRequest argument : "
+                + pjp.getSignature());
+    }
+
+    private String currentIdempotencyKey() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        String idempotencyKey = attributes.getRequest().getHeader(IDEMPOTENCY_KEY_HEADER);
+        return idempotencyKey == null || idempotencyKey.isBlank() ? null : idempotencyKey;
+    }
+}
@@ -0,0 +1,246 @@
+package com.zero.account.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zero.account.aop.AccountLock;
+import com.zero.account.aop.IdempotentRequest;
+import com.zero.account.config.CacheConfig;
+import com.zero.account.config.FaultInjectionProperties;
+import com.zero.account.config.LockProperties;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idempotency-Key 별 처리 결과 저장소
+ * 노드 간 공유는 Redis(TTL), 같은 노드의 재요청은 로컬 캐시에서 바로 응답한다.
+ * 처리 중인 키는 요청마다 다른 claim 값으로 선점해 동시에 들어온 같은 키의 요청이 두 번 실행되지 않게 한다.
+ * <p>
+ * 키는 요청한 사용자/계좌 범위로 나누고, 요청 본문의 해시를 함께 저장해 같은 키를 다른 요청에 쓰면 거절한다.
+ * <p>
+ * 선점은 in-progress-ttl 이 지나면 풀리므로, 요청이 기다릴 수 있는 시간(hot account/actor 대기 + 락 대기 + 지연 주입)보다
+ * 길어야 한다. 짧게 설정하면 시작할 때 실패한다.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "IDEM";
+
+    // 자신의 선점 값일 때만 완료된 응답으로 바꾸고 응답 TTL 을 건다
+    private static final String COMPLETE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3]); "
+                    + "return 1; "
+                    + "end; "
+                    + "return 0;";
+
+    private final RedissonClient redissonClient;
+    private final Cache localCache;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inProgressTtl;
+
+    public IdempotencyStore(
+            RedissonClient redissonClient,
+            CacheManager cacheManager,
+            ObjectMapper objectMapper,
+            @Value("${account.idempotency.ttl:24h}") Duration ttl,
+            // 처리 중 서버가 죽어도 이 시간이 지나면 같은 키로 다시 요청할 수 있다
+            @Value("${account.idempotency.in-progress-ttl:30s}") Duration inProgressTtl,
+            @Value("${account.hot.wait-timeout-ms:10000}") long hotWaitTimeoutMillis,
+            @Value("${account.actor.wait-timeout-ms:10000}") long actorWaitTimeoutMillis,
+            LockProperties lockProperties,
+            FaultInjectionProperties faultInjectionProperties
+    ) {
+        long longestRequestMillis = Math.max(hotWaitTimeoutMillis, actorWaitTimeoutMillis)
+                + longestLockWaitMillis(lockProperties)
+                + longestInjectedLatencyMillis(faultInjectionProperties);
+        if (inProgressTtl.toMillis() <= longestRequestMillis) {
+            throw new IllegalArgumentException("account.idempotency.in-progress-ttl (" + inProgressTtl.toMillis()
+                    + "ms) must be longer than the longest request wait (" + longestRequestMillis + "ms)");
+        }
+        this.redissonClient = redissonClient;
+        this.localCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.IDEMPOTENCY));
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.inProgressTtl = inProgressTtl;
+    }
+
+    public Key keyOf(String scope, IdempotentRequest request, String idempotencyKey) {
+        return new Key(
+                KEY_PREFIX + ":" + scope + ":" + request.idempotencyOwner() + ":" + idempotencyKey,
+                hashOf(request));
+    }
+
+    /**
+     * @return 완료된 요청의 응답, 없거나 처리 중이면 null
+     * @throws AccountException 같은 키가 다른 요청 본문으로 쓰인 경우 (IDEMPOTENCY_KEY_REUSED)
+     */
+    public <T> T find(Key key, Class<T> type) {
+        Completed cached = localCache.get(key.getRedisKey(), Completed.class);
+        if (cached != null) {
+            verifyRequestHash(key, cached.getRequestHash());
+            return type.cast(cached.getResponse());
+        }
+
+        String stored = bucket(key).get();
+        if (stored == null) {
+            return null;
+        }
+        try {
+            Entry entry = objectMapper.readValue(stored, Entry.class);
+            verifyRequestHash(key, entry.getRequestHash());
+            if (entry.getResponse() == null) {
+                return null;
+            }
+            T response = objectMapper.treeToValue(entry.getResponse(), type);
+            localCache.put(key.getRedisKey(), new Completed(entry.getRequestHash(), response));
+            return response;
+        } catch (JsonProcessingException e) {
+            log.error("Unreadable idempotent response : {}", key.getRedisKey(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @return 선점에 성공하면 해제할 때 넘길 claim 값, 이미 처리 중이거나 완료된 키면 null
+     */
+    public String claim(Key key) {
+        String claim = write(new Entry(key.getRequestHash(), UUID.randomUUID().toString(), null));
+        return bucket(key).trySet(claim, inProgressTtl.toMillis(), TimeUnit.MILLISECONDS) ? claim : null;
+    }
+
+    /**
+     * 자신의 선점 값일 때만 응답을 저장한다. 선점이 만료되어 다른 요청이 다시 선점했으면 그 요청의 응답을 덮어쓰지 않는다.
+     * 요청은 이미 처리되었으므로 저장에 실패해도 예외를 던지지 않는다.
+     * 실패하면 in-progress-ttl 동안 재요청은 IN_PROGRESS 로 거절된다.
+     */
+    public void complete(Key key, String claim, Object response) {
+        try {
+            String completed = write(new Entry(key.getRequestHash(), null, objectMapper.valueToTree(response)));
+            Boolean stored = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE, COMPLETE_SCRIPT, RScript.ReturnType.BOOLEAN,
+                    List.of(key.getRedisKey()), claim, completed, String.valueOf(ttl.toMillis()));
+            if (!Boolean.TRUE.equals(stored)) {
+                log.warn("Idempotency claim lost before completion, response not stored : {}", key.getRedisKey());
+                return;
+            }
+            localCache.put(key.getRedisKey(), new Completed(key.getRequestHash(), response));
+        } catch (RuntimeException e) {
+            log.error("Failed to store idempotent response : {}", key.getRedisKey(), e);
+        }
+    }
+
+    /**
+     * 처리에 실패한 키는 선점을 풀어 같은 키로 다시 시도할 수 있게 한다.
+     * 선점이 만료되어 다른 요청이 다시 선점한 키는 지우지 않는다.
+     */
+    public void release(Key key, String claim) {
+        try {
+            bucket(key).compareAndSet(claim, null);
+        } catch (RuntimeException e) {
+            // 원래 예외를 가리지 않는다, 선점은 in-progress-ttl 이후 풀린다
+            log.error("Failed to release idempotency key : {}", key.getRedisKey(), e);
+        }
+    }
+
+    private static long longestLockWaitMillis(LockProperties lockProperties) {
+        long longest = AccountLock.DEFAULT_TRY_LOCK_TIME;
+        for (LockProperties.Policy policy : lockProperties.getPolicies().values()) {
+            if (policy.getWaitTime() != null) {
+                longest = Math.max(longest, policy.getWaitTime().toMillis());
+            }
+        }
+        return longest;
+    }
+
+    private static long longestInjectedLatencyMillis(FaultInjectionProperties faultInjectionProperties) {
+        long longest = 0L;
+        for (Map<String, Long> buckets : faultInjectionProperties.getEndpoints().values()) {
+            for (Long delay : buckets.values()) {
+                if (delay != null) {
+                    longest = Math.max(longest, delay);
+                }
+            }
+        }
+        return longest;
+    }
+
+    private void verifyRequestHash(Key key, String requestHash) {
+        if (!key.getRequestHash().equals(requestHash)) {
+            throw new AccountException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+    }
+
+    private String hashOf(IdempotentRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash idempotent request", e);
+        }
+    }
+
+    private String write(Entry entry) {
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to write idempotency entry", e);
+        }
+    }
+
+    private RBucket<String> bucket(Key key) {
+        return redissonClient.getBucket(key.getRedisKey(), StringCodec.INSTANCE);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Key {
+        private final String redisKey;
+        private final String requestHash;
+    }
+
+    /**
+     * Redis 에 저장하는 값, 처리 중이면 claim, 완료되면 response 가 채워진다.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Entry {
+        private String requestHash;
+        private String claim;
+        private JsonNode response;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Completed {
+        private final String requestHash;
+        private final Object response;
+    }
+}
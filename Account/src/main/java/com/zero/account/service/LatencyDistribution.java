@@ -0,0 +1,77 @@
+package com.zero.account.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 백분위별 지연 시간(ms)으로 정의된 분포
+ * 구간 사이의 값은 선형 보간한다.
+ */
+public class LatencyDistribution {
+
+    private final double[] percentiles;
+    private final long[] delays;
+
+    private LatencyDistribution(double[] percentiles, long[] delays) {
+        this.percentiles = percentiles;
+        this.delays = delays;
+    }
+
+    /**
+     * @param buckets "p50" -> 0, "p99.9" -> 5000 형태
+     *                소수점이 있는 백분위는 프로퍼티에서 [p99.9] 처럼 대괄호로 감싼다
+     */
+    public static LatencyDistribution of(Map<String, Long> buckets) {
+        TreeMap<Double, Long> sorted = new TreeMap<>();
+        buckets.forEach((key, delay) -> {
+            double percentile = parsePercentile(key);
+            if (delay == null || delay < 0) {
+                throw new IllegalArgumentException("delay must not be negative : " + key);
+            }
+            sorted.put(percentile, delay);
+        });
+
+        double[] percentiles = new double[sorted.size()];
+        long[] delays = new long[sorted.size()];
+        int i = 0;
+        for (Map.Entry<Double, Long> entry : sorted.entrySet()) {
+            percentiles[i] = entry.getKey();
+            delays[i] = entry.getValue();
+            i++;
+        }
+        return new LatencyDistribution(percentiles, delays);
+    }
+
+    private static double parsePercentile(String key) {
+        String value = key.startsWith("p") || key.startsWith("P") ? key.substring(1) : key;
+        double percentile = Double.parseDouble(value);
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in (0, 100] : " + key);
+        }
+        return percentile;
+    }
+
+    /**
+     * @param quantile [0, 100) 범위의 균등 난수
+     */
+    public long delayAt(double quantile) {
+        if (delays.length == 0) {
+            return 0L;
+        }
+        int index = Arrays.binarySearch(percentiles, quantile);
+        if (index >= 0) {
+            return delays[index];
+        }
+        int upper = -index - 1;
+        if (upper == 0) {
+            return Math.round(delays[0] * quantile / percentiles[0]);
+        }
+        if (upper == percentiles.length) {
+            return delays[delays.length - 1];
+        }
+        int lower = upper - 1;
+        double ratio = (quantile - percentiles[lower]) / (percentiles[upper] - percentiles[lower]);
+        return Math.round(delays[lower] + (delays[upper] - delays[lower]) * ratio);
+    }
+}
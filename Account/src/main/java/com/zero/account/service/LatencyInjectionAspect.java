@@ -0,0 +1,53 @@
+package com.zero.account.service;
+
+import com.zero.account.aop.InjectLatency;
+import com.zero.account.config.FaultInjectionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 락 경합 테스트용 지연 주입
+ * fault-injection 프로파일이 활성화된 경우에만 빈으로 등록된다.
+ * 계좌 락 안쪽에서 지연되도록 가장 낮은 우선순위로 동작한다.
+ */
+@Aspect
+@Component
+@Slf4j
+@Profile("fault-injection")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class LatencyInjectionAspect {
+
+    private final Map<String, LatencyDistribution> distributions = new HashMap<>();
+
+    public LatencyInjectionAspect(FaultInjectionProperties properties) {
+        properties.getEndpoints().forEach((endpoint, buckets) ->
+                distributions.put(endpoint, LatencyDistribution.of(buckets)));
+        log.warn("Latency injection enabled for endpoints : {}", distributions.keySet());
+    }
+
+    @Around("@annotation(injectLatency)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp,
+            InjectLatency injectLatency
+    ) throws Throwable {
+        LatencyDistribution distribution = distributions.get(injectLatency.value());
+        if (distribution != null) {
+            long delay = distribution.delayAt(ThreadLocalRandom.current().nextDouble(100.0));
+            if (delay > 0) {
+                log.debug("Inject {}ms latency to {}", delay, injectLatency.value());
+                Thread.sleep(delay);
+            }
+        }
+        return pjp.proceed();
+    }
+}
@@ -0,0 +1,92 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.Transaction;
+import com.zero.account.dto.AccountLedgerView;
+import com.zero.account.dto.LedgerEntry;
+import com.zero.account.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 거래 원장 대량 적재
+ * 계좌는 한 번의 IN 조회로 찾고, Transaction 은 flushSize 건마다 flush/clear 해
+ * JDBC batch(hibernate.jdbc.batch_size) 단위로 INSERT 한다.
+ */
+@Slf4j
+@Service
+public class LedgerIngestService {
+
+    private final EntityManager entityManager;
+    private final AccountRepository accountRepository;
+    private final int flushSize;
+
+    public LedgerIngestService(
+            EntityManager entityManager,
+            AccountRepository accountRepository,
+            @Value("${account.jpa.batch-size:50}") int flushSize
+    ) {
+        this.entityManager = entityManager;
+        this.accountRepository = accountRepository;
+        this.flushSize = flushSize;
+    }
+
+    /**
+     * @return 적재한 건수, 계좌를 찾을 수 없는 항목은 건너뛴다
+     */
+    @Transactional
+    public int ingest(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> accountNumbers = new HashSet<>();
+        for (LedgerEntry entry : entries) {
+            accountNumbers.add(entry.getAccountNumber());
+        }
+        Map<String, AccountLedgerView> accounts = accountRepository
+                .findLedgerViewsByAccountNumberIn(accountNumbers)
+                .stream()
+                .collect(Collectors.toMap(AccountLedgerView::getAccountNumber, Function.identity()));
+
+        int persisted = 0;
+        for (LedgerEntry entry : entries) {
+            AccountLedgerView account = accounts.get(entry.getAccountNumber());
+            if (account == null) {
+                log.error("Skip ledger entry, account not found : {}", entry.getAccountNumber());
+                continue;
+            }
+
+            entityManager.persist(Transaction.builder()
+                    .transactionType(entry.getTransactionType())
+                    .transactionResultType(entry.getTransactionResultType())
+                    // 프록시로 참조해 FK 만 채운다
+                    .account(entityManager.getReference(Account.class, account.getId()))
+                    .amount(entry.getAmount())
+                    .balanceSnapshot(entry.getBalanceSnapshot() != null
+                            ? entry.getBalanceSnapshot()
+                            : account.getBalance())
+                    .transactionId(entry.getTransactionId())
+                    .transactedAt(entry.getTransactedAt())
+                    .build());
+
+            if (++persisted % flushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return persisted;
+    }
+}
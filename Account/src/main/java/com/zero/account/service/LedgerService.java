@@ -0,0 +1,73 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.AccountBalanceSnapshot;
+import com.zero.account.dto.AccountKey;
+import com.zero.account.dto.LedgerBalance;
+import com.zero.account.dto.LedgerTail;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.AccountBalanceSnapshotRepository;
+import com.zero.account.repository.AccountRepository;
+import com.zero.account.repository.TransactionRepository;
+import com.zero.account.type.ErrorCode;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 거래 원장을 기준으로 한 잔액
+ * 잔액은 가장 최근 스냅샷에 그 이후 거래(최대 스냅샷 주기만큼)를 더해 계산한다.
+ * Account.balance 는 조건부 차감용으로 함께 갱신되지만, 감사나 재계산은 원장만으로 할 수 있다.
+ */
+@Timed(value = "account.service", histogram = true)
+@RequiredArgsConstructor
+@Service
+public class LedgerService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+
+    @Transactional
+    public LedgerBalance getBalance(String accountNumber) {
+        AccountKey accountKey = accountRepository.findKeyByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        AccountBalanceSnapshot snapshot = latestSnapshot(accountKey.getId());
+        LedgerTail tail = transactionRepository.findLedgerTail(accountKey.getId(), snapshot.getLedgerSequence());
+
+        return new LedgerBalance(accountNumber,
+                snapshot.getBalance() + tail.getAmount(),
+                tail.getLastLedgerSequence());
+    }
+
+    /**
+     * 마지막 스냅샷 이후 거래를 더해 새 스냅샷을 남긴다.
+     * 원장 순번은 계좌 행을 갱신하며 매기므로, 커밋된 거래는 항상 빈 순번 없이 이어진다.
+     *
+     * @return 새 스냅샷을 썼으면 true
+     */
+    @Transactional
+    public boolean snapshot(Long accountId) {
+        AccountBalanceSnapshot latest = latestSnapshot(accountId);
+        LedgerTail tail = transactionRepository.findLedgerTail(accountId, latest.getLedgerSequence());
+        if (tail.getLastLedgerSequence() <= latest.getLedgerSequence()) {
+            return false;
+        }
+
+        snapshotRepository.save(AccountBalanceSnapshot.builder()
+                .account(accountRepository.getReferenceById(accountId))
+                .ledgerSequence(tail.getLastLedgerSequence())
+                .balance(latest.getBalance() + tail.getAmount())
+                .build());
+        accountRepository.updateLastSnapshotSequence(accountId, tail.getLastLedgerSequence());
+        return true;
+    }
+
+    private AccountBalanceSnapshot latestSnapshot(Long accountId) {
+        // 계좌 생성 시(기존 계좌는 V7 마이그레이션에서) 0번 스냅샷을 남기므로 항상 있어야 한다
+        return snapshotRepository.findTopByAccountIdOrderByLedgerSequenceDesc(accountId)
+                .orElseThrow(() -> new AccountException(ErrorCode.INTERNAL_SERVER_ERROR,
+                        "balance snapshot not found : accountId=" + accountId));
+    }
+}
@@ -0,0 +1,50 @@
+package com.zero.account.service;
+
+import com.zero.account.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 마지막 스냅샷 이후 거래가 account.ledger.snapshot.interval 건 이상 쌓인 계좌의 잔액 스냅샷을 남긴다.
+ * 여러 노드에서 돌아도 (account_id, ledger_sequence) unique 제약으로 같은 스냅샷은 한 번만 저장된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.ledger.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+public class LedgerSnapshotJob {
+
+    private final AccountRepository accountRepository;
+    private final LedgerService ledgerService;
+    private final long interval;
+    private final int batchSize;
+
+    public LedgerSnapshotJob(
+            AccountRepository accountRepository,
+            LedgerService ledgerService,
+            @Value("${account.ledger.snapshot.interval:100}") long interval,
+            @Value("${account.ledger.snapshot.batch-size:100}") int batchSize
+    ) {
+        if (interval < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("snapshot interval and batch size must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.ledgerService = ledgerService;
+        this.interval = interval;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${account.ledger.snapshot.fixed-delay-ms:10000}")
+    public void run() {
+        for (Long accountId : accountRepository.findAccountIdsDueForSnapshot(interval, PageRequest.of(0, batchSize))) {
+            try {
+                ledgerService.snapshot(accountId);
+            } catch (RuntimeException e) {
+                log.warn("balance snapshot failed : accountId={}", accountId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.zero.account.service;
+
+import com.zero.account.config.LockProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계좌번호 해시 기반 스트라이프 락
+ * 같은 노드 안의 경합은 여기서 대기하므로 Redis 까지 가지 않는다.
+ * leaseTime 은 로컬 락에서 의미가 없으므로 무시한다.
+ */
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "account.lock.local.enabled", havingValue = "true", matchIfMissing = true)
+public class LocalStripedLockProvider implements LockProvider {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public LocalStripedLockProvider(LockProperties lockProperties) {
+        int size = Integer.highestOneBit(Math.max(1, lockProperties.getLocal().getStripes() - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public boolean tryLock(String lockKey, long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
+        return stripeOf(lockKey).tryLock(waitTime, unit);
+    }
+
+    @Override
+    public void unlock(String lockKey) {
+        stripeOf(lockKey).unlock();
+    }
+
+    private ReentrantLock stripeOf(String lockKey) {
+        int hash = lockKey.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
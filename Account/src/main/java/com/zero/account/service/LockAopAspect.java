@@ -1,37 +1,53 @@
 package com.zero.account.service;
 
+import com.zero.account.aop.AccountLock;
 import com.zero.account.aop.AccountLockIdInterface;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 @Aspect
 @Component
+@Order(0)
+@ConditionalOnProperty(name = "account.concurrency.mode", havingValue = "lock", matchIfMissing = true)
 @Slf4j
 @RequiredArgsConstructor
 public class LockAopAspect {
 
     private final LockService lockService;
+    private final HotAccountDetector hotAccountDetector;
 
     // aspectj 라이브러리 사용
     // 어떤 경우에 사용할 것인가?
-    @Around("@annotation(com.zero.account.aop.AccountLock) && args(request)")
+    @Around("@annotation(accountLock) && args(request)")
     public Object aroundMethod(
             ProceedingJoinPoint pjp,
+            AccountLock accountLock,
             AccountLockIdInterface request
     )throws Throwable{
+        if (accountLock.hotAccountRouting() && hotAccountDetector.isHot(request.getAccountNumber())) {
+            return pjp.proceed();
+        }
+
+        LockService.LockPolicy policy = lockService.policyOf(
+                accountLock.name().isEmpty() ? pjp.getSignature().getName() : accountLock.name(),
+                accountLock.tryLockTime(),
+                accountLock.leaseTime());
+
         // lock 시도
-        lockService.lock(request.getAccountNumber());
+        LockService.AcquiredLock acquiredLock = lockService.lock(request.getAccountNumber(), policy);
         try{
             // before
             return pjp.proceed();// 실제동작
             // after
         } finally {
             // lock 해제
-            lockService.unlock(request.getAccountNumber());
+            lockService.unlock(acquiredLock);
         }
     }
 
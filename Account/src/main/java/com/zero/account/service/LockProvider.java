@@ -0,0 +1,22 @@
+package com.zero.account.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LockService 가 순서대로 획득하는 락 계층
+ * 획득은 @Order 순서, 해제는 역순으로 진행된다.
+ */
+public interface LockProvider {
+
+    boolean tryLock(String lockKey, long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException;
+
+    void unlock(String lockKey);
+
+    /**
+     * 임대 시간이 지나면 저절로 풀리는 계층인지
+     * 이런 계층에서 해제 시 IllegalMonitorStateException 은 임대 만료를 뜻한다.
+     */
+    default boolean isLeased() {
+        return false;
+    }
+}
@@ -1,45 +1,180 @@
 package com.zero.account.service;
 
+import com.zero.account.config.LockProperties;
 import com.zero.account.exception.AccountException;
 import com.zero.account.type.ErrorCode;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class LockService {
 
-    private final RedissonClient redissonClient;
+    private static final String LOCK_KEY_PREFIX = "ACLK";
 
-    public void lock(String accountNumber){
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
-        log.debug("Trying lock for AccountNumber : {}", getLockKey(accountNumber));
+    private final List<LockProvider> lockProviders;
+    private final LockProperties lockProperties;
 
+    private final Timer acquiredWaitTimer;
+    private final Timer failedWaitTimer;
+    private final Timer holdTimer;
+    private final Counter timeoutCounter;
+    private final Counter interruptedCounter;
+    private final Counter leaseExpiredCounter;
+    // lockProviders 와 같은 순서, 계층(로컬/Redisson)별 대기 시간
+    private final Timer[] tierAcquiredTimers;
+    private final Timer[] tierFailedTimers;
+
+    public LockService(List<LockProvider> lockProviders,
+                       LockProperties lockProperties,
+                       MeterRegistry meterRegistry) {
+        this.lockProviders = lockProviders;
+        this.lockProperties = lockProperties;
+        this.acquiredWaitTimer = Timer.builder("account.lock.wait")
+                .tag("prefix", LOCK_KEY_PREFIX).tag("result", "acquired")
+                .register(meterRegistry);
+        this.failedWaitTimer = Timer.builder("account.lock.wait")
+                .tag("prefix", LOCK_KEY_PREFIX).tag("result", "failed")
+                .register(meterRegistry);
+        this.holdTimer = Timer.builder("account.lock.hold")
+                .tag("prefix", LOCK_KEY_PREFIX)
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("account.lock.failures")
+                .tag("prefix", LOCK_KEY_PREFIX).tag("reason", "timeout")
+                .register(meterRegistry);
+        this.interruptedCounter = Counter.builder("account.lock.failures")
+                .tag("prefix", LOCK_KEY_PREFIX).tag("reason", "interrupted")
+                .register(meterRegistry);
+        this.leaseExpiredCounter = Counter.builder("account.lock.lease.expired")
+                .tag("prefix", LOCK_KEY_PREFIX)
+                .register(meterRegistry);
+        this.tierAcquiredTimers = new Timer[lockProviders.size()];
+        this.tierFailedTimers = new Timer[lockProviders.size()];
+        for (int i = 0; i < lockProviders.size(); i++) {
+            String provider = lockProviders.get(i).getClass().getSimpleName();
+            tierAcquiredTimers[i] = Timer.builder("account.lock.tier.wait")
+                    .tag("provider", provider).tag("result", "acquired")
+                    .register(meterRegistry);
+            tierFailedTimers[i] = Timer.builder("account.lock.tier.wait")
+                    .tag("provider", provider).tag("result", "failed")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 설정(account.lock.policies.{name})이 있으면 어노테이션 값보다 우선한다.
+     */
+    public LockPolicy policyOf(String name, long tryLockTime, long leaseTime) {
+        LockProperties.Policy override = lockProperties.getPolicies().get(name);
+        if (override == null) {
+            return new LockPolicy(name, tryLockTime, leaseTime);
+        }
+        return new LockPolicy(
+                name,
+                override.getWaitTime() != null ? override.getWaitTime().toMillis() : tryLockTime,
+                override.getLeaseTime() != null ? override.getLeaseTime().toMillis() : leaseTime);
+    }
+
+    public AcquiredLock lock(String accountNumber, LockPolicy policy){
+        String lockKey = getLockKey(accountNumber);
+        log.debug("Trying lock for AccountNumber : {}, policy : {}", lockKey, policy.getName());
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(policy.getWaitTime());
+        int acquired = 0;
         try{
-            boolean isLock = lock.tryLock(1,15, TimeUnit.SECONDS);
-            if(!isLock){
-                log.error("-------get Lock failed-------");
-                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK, "Account is locked");
+            for (LockProvider lockProvider : lockProviders) {
+                long tierStartedAt = System.nanoTime();
+                long remaining = Math.max(0L, deadline - tierStartedAt);
+                boolean isLock = lockProvider.tryLock(lockKey, remaining, leaseNanos(policy), TimeUnit.NANOSECONDS);
+                (isLock ? tierAcquiredTimers : tierFailedTimers)[acquired]
+                        .record(System.nanoTime() - tierStartedAt, TimeUnit.NANOSECONDS);
+                if(!isLock){
+                    log.error("-------get Lock failed-------");
+                    release(lockKey, acquired);
+                    failedWaitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    timeoutCounter.increment();
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK, "Account is locked");
+                }
+                acquired++;
             }
-        } catch (AccountException e) {
-            throw e;
         } catch (InterruptedException e) {
-            log.error(e.getMessage());
+            Thread.currentThread().interrupt();
+            release(lockKey, acquired);
+            failedWaitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            interruptedCounter.increment();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK, "Lock wait interrupted");
+        }
+
+        long acquiredAt = System.nanoTime();
+        acquiredWaitTimer.record(acquiredAt - startedAt, TimeUnit.NANOSECONDS);
+        return new AcquiredLock(lockKey, policy, acquiredAt);
+    }
+
+    public void unlock(AcquiredLock acquiredLock){
+        log.debug("Unlock for lockKey : {}", acquiredLock.getLockKey());
+        long heldNanos = System.nanoTime() - acquiredLock.getAcquiredAt();
+        holdTimer.record(heldNanos, TimeUnit.NANOSECONDS);
+        release(acquiredLock.getLockKey(), lockProviders.size());
+    }
+
+    /**
+     * 획득 역순으로 해제한다. 한 계층의 해제가 실패해도 나머지 계층은 마저 해제한다.
+     */
+    private void release(String lockKey, int acquired) {
+        IllegalMonitorStateException notOwner = null;
+        for (int i = acquired - 1; i >= 0; i--) {
+            LockProvider lockProvider = lockProviders.get(i);
+            try {
+                lockProvider.unlock(lockKey);
+            } catch (IllegalMonitorStateException e) {
+                if (lockProvider.isLeased()) {
+                    // 임대 시간이 지나 이미 풀린 락
+                    log.error("Lock lease expired before unlock : {}", lockKey);
+                    leaseExpiredCounter.increment();
+                } else {
+                    // 임대 시간이 없는 계층은 획득한 스레드가 아닌 곳에서 해제한 경우다
+                    log.error("Lock released by non-owner thread : {}", lockKey, e);
+                    notOwner = e;
+                }
+            }
+        }
+        if (notOwner != null) {
+            throw notOwner;
         }
     }
 
-    public void unlock(String accountNumber){
-        log.debug("Unlock for accountNumber : {}",accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+    private long leaseNanos(LockPolicy policy) {
+        return policy.getLeaseTime() > 0
+                ? TimeUnit.MILLISECONDS.toNanos(policy.getLeaseTime())
+                : -1L;
     }
 
     private String getLockKey(String accountNumber) {
-        return "ACLK:" + accountNumber;
+        return LOCK_KEY_PREFIX + ":" + accountNumber;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LockPolicy {
+        private final String name;
+        private final long waitTime;
+        private final long leaseTime;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class AcquiredLock {
+        private final String lockKey;
+        private final LockPolicy policy;
+        private final long acquiredAt;
     }
 }
@@ -0,0 +1,65 @@
+package com.zero.account.service;
+
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Account 의 @Version 충돌 시 제한된 횟수만큼 backoff 후 재시도
+ * 트랜잭션 바깥에서 감싸야 매 시도가 새 트랜잭션이 되므로 가장 높은 우선순위로 동작한다.
+ */
+@Aspect
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "account.concurrency.mode", havingValue = "optimistic")
+public class OptimisticRetryAspect {
+
+    private final int maxAttempts;
+    private final long backoff;
+    private final long maxBackoff;
+
+    public OptimisticRetryAspect(
+            @Value("${account.concurrency.optimistic.max-attempts:5}") int maxAttempts,
+            @Value("${account.concurrency.optimistic.backoff:5}") long backoff,
+            @Value("${account.concurrency.optimistic.max-backoff:100}") long maxBackoff
+    ) {
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Around("@annotation(com.zero.account.aop.OptimisticRetry)")
+    public Object aroundMethod(ProceedingJoinPoint pjp) throws Throwable {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return pjp.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Optimistic lock retry exhausted : {}", pjp.getSignature().getName());
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                }
+                log.debug("Optimistic lock conflict, attempt {} : {}", attempt, pjp.getSignature().getName());
+                Thread.sleep(backoffOf(attempt));
+            }
+        }
+    }
+
+    private long backoffOf(int attempt) {
+        // full jitter
+        long ceiling = Math.min(maxBackoff, backoff << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0L : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
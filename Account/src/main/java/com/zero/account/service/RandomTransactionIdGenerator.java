@@ -0,0 +1,20 @@
+package com.zero.account.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 기존 방식의 무작위 UUID 거래 ID
+ * account.transaction-id.generator=random 인 경우에만 사용
+ */
+@Component
+@ConditionalOnProperty(name = "account.transaction-id.generator", havingValue = "random")
+public class RandomTransactionIdGenerator implements TransactionIdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
@@ -0,0 +1,34 @@
+package com.zero.account.service;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RedissonClient;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 노드 간 배타적 실행을 위한 Redis 분산 락
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class RedissonLockProvider implements LockProvider {
+
+    private final RedissonClient redissonClient;
+
+    @Override
+    public boolean tryLock(String lockKey, long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
+        return redissonClient.getLock(lockKey).tryLock(waitTime, leaseTime, unit);
+    }
+
+    @Override
+    public void unlock(String lockKey) {
+        redissonClient.getLock(lockKey).unlock();
+    }
+
+    @Override
+    public boolean isLeased() {
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+package com.zero.account.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간 순으로 정렬되는 128bit 거래 ID (ULID/Snowflake 방식)
+ * <pre>
+ * | epoch millis 48bit | sequence 16bit | node id 16bit | random 48bit |
+ * </pre>
+ * 앞 64bit 는 노드 안에서 단조 증가하므로 인덱스에 순차적으로 삽입된다.
+ * 같은 밀리초에 sequence 가 넘치면 다음 밀리초를 미리 사용한다.
+ */
+@Component
+@ConditionalOnProperty(name = "account.transaction-id.generator", havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedTransactionIdGenerator implements TransactionIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int SEQUENCE_BITS = 16;
+    private static final long RANDOM_MASK = (1L << 48) - 1;
+
+    private final AtomicLong lastTimestamp = new AtomicLong();
+    private final long nodeBits;
+
+    public TimeOrderedTransactionIdGenerator(
+            @Value("${account.transaction-id.node-id:-1}") int nodeId
+    ) {
+        if (nodeId > 0xFFFF) {
+            throw new IllegalArgumentException("node id must be less than 65536 : " + nodeId);
+        }
+        int node = nodeId < 0 ? ThreadLocalRandom.current().nextInt(1 << 16) : nodeId;
+        this.nodeBits = (long) node << 48;
+    }
+
+    @Override
+    public String nextId() {
+        long high = nextTimestamp(System.currentTimeMillis());
+        long low = nodeBits | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+
+        char[] chars = new char[32];
+        writeHex(chars, 0, high);
+        writeHex(chars, 16, low);
+        return new String(chars);
+    }
+
+    long nextTimestamp(long currentMillis) {
+        long floor = currentMillis << SEQUENCE_BITS;
+        while (true) {
+            long last = lastTimestamp.get();
+            long next = Math.max(last + 1, floor);
+            if (lastTimestamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static void writeHex(char[] chars, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
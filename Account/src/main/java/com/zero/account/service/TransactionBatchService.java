@@ -0,0 +1,119 @@
+package com.zero.account.service;
+
+import com.zero.account.dto.UseBalance;
+import com.zero.account.dto.UseBalanceBatch;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ConcurrencyMode;
+import com.zero.account.type.ErrorCode;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 잔액 사용 일괄 처리
+ * 요청을 계좌번호별로 묶어 계좌마다 락 한 번, DB 트랜잭션 한 번으로 처리한다.
+ * 한 계좌의 실패가 다른 계좌의 결과에 영향을 주지 않는다.
+ */
+@Slf4j
+@Service
+public class TransactionBatchService {
+
+    private static final String LOCK_NAME = "transaction-use-batch";
+    private static final long TRY_LOCK_TIME = 5000L;
+
+    private final TransactionService transactionService;
+    private final LockService lockService;
+    private final AccountCommandDispatcher accountCommandDispatcher;
+    private final ConcurrencyMode concurrencyMode;
+
+    public TransactionBatchService(
+            TransactionService transactionService,
+            LockService lockService,
+            AccountCommandDispatcher accountCommandDispatcher,
+            @Value("${account.concurrency.mode:LOCK}") ConcurrencyMode concurrencyMode
+    ) {
+        this.transactionService = transactionService;
+        this.lockService = lockService;
+        this.accountCommandDispatcher = accountCommandDispatcher;
+        this.concurrencyMode = Objects.requireNonNull(concurrencyMode, "concurrencyMode");
+    }
+
+    /**
+     * @return 요청과 같은 순서의 건별 결과
+     */
+    public List<UseBalanceBatch.Result> useBalances(List<UseBalance.Request> requests) {
+        // 계좌번호 -> 요청 순번, 계좌 처리 순서는 처음 등장한 순서
+        Map<String, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByAccount
+                    .computeIfAbsent(requests.get(i).getAccountNumber(), k -> new ArrayList<>())
+                    .add(i);
+        }
+
+        UseBalanceBatch.Result[] results = new UseBalanceBatch.Result[requests.size()];
+        indexesByAccount.forEach((accountNumber, indexes) -> {
+            List<UseBalance.Request> accountRequests = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                accountRequests.add(requests.get(index));
+            }
+
+            List<UseBalanceBatch.Result> accountResults = useBalancesOfAccount(accountNumber, accountRequests);
+            for (int i = 0; i < indexes.size(); i++) {
+                UseBalanceBatch.Result result = accountResults.get(i);
+                if (result.isFailed()) {
+                    transactionService.saveFailedUseTransaction(accountNumber, result.getAmount());
+                }
+                results[indexes.get(i)] = result;
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    private List<UseBalanceBatch.Result> useBalancesOfAccount(String accountNumber,
+                                                              List<UseBalance.Request> requests) {
+        try {
+            if (concurrencyMode == ConcurrencyMode.ACTOR) {
+                // 단건 요청과 같은 mailbox 에서 차례로 처리된다
+                return accountCommandDispatcher.execute(accountNumber,
+                        () -> transactionService.useBalanceBatch(accountNumber, requests));
+            }
+            if (concurrencyMode != ConcurrencyMode.LOCK) {
+                return transactionService.useBalanceBatch(accountNumber, requests);
+            }
+
+            LockService.AcquiredLock acquiredLock = lockService.lock(
+                    accountNumber, lockService.policyOf(LOCK_NAME, TRY_LOCK_TIME, -1L));
+            try {
+                return transactionService.useBalanceBatch(accountNumber, requests);
+            } finally {
+                lockService.unlock(acquiredLock);
+            }
+        } catch (AccountException e) {
+            log.error("useBalanceBatch error : {}", accountNumber, e);
+            return failAll(accountNumber, requests, e);
+        } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+            // OPTIMISTIC 모드에서 재시도 후에도 겹친 경우, 계좌 단위로 롤백된다 (ATOMIC 모드는 건별 조건부 UPDATE 라 버전 충돌이 없다)
+            log.error("useBalanceBatch conflict : {}", accountNumber);
+            return failAll(accountNumber, requests, new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        }
+    }
+
+    private List<UseBalanceBatch.Result> failAll(String accountNumber,
+                                                 List<UseBalance.Request> requests,
+                                                 AccountException e) {
+        List<UseBalanceBatch.Result> results = new ArrayList<>(requests.size());
+        for (UseBalance.Request request : requests) {
+            results.add(UseBalanceBatch.Result.failure(accountNumber, request.getAmount(), e));
+        }
+        return results;
+    }
+}
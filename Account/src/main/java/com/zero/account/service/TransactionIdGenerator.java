@@ -0,0 +1,9 @@
+package com.zero.account.service;
+
+/**
+ * 거래 ID 생성기, API 에는 32자리 소문자 16진수 문자열로 노출된다.
+ */
+public interface TransactionIdGenerator {
+
+    String nextId();
+}
@@ -0,0 +1,147 @@
+package com.zero.account.service;
+
+import com.zero.account.config.CacheConfig;
+import com.zero.account.dto.TransactionCreatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zero.account.dto.TransactionDTO;
+import com.zero.account.dto.TransactionHistory;
+import com.zero.account.dto.TransactionHistoryItem;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.AccountRepository;
+import com.zero.account.repository.TransactionRepository;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.ExportFormat;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 거래 조회 전용 경로
+ * 거래는 저장 이후 바뀌지 않으므로 최근 거래를 로컬 캐시에 두고 DB 조회 없이 응답한다.
+ * 계좌별 거래 내역은 (transactedAt, id) keyset 페이지네이션과 스트리밍 내보내기로 제공한다.
+ */
+@Timed(value = "account.service", histogram = true)
+@RequiredArgsConstructor
+@Service
+public class TransactionQueryService {
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final String CSV_HEADER =
+            "transactionId,transactionType,transactionResultType,amount,balanceSnapshot,transactedAt\n";
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    @Cacheable(cacheNames = CacheConfig.TRANSACTION, key = "#transactionId")
+    public TransactionDTO queryTransaction(String transactionId) {
+        return transactionRepository.findTransactionDTOByTransactionId(transactionId)
+                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+    }
+
+    /**
+     * 롤백된 거래가 캐시에 남지 않도록 커밋 이후에만 넣는다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.TRANSACTION);
+        if (cache != null) {
+            cache.put(event.getTransaction().getTransactionId(), event.getTransaction());
+        }
+    }
+
+    /**
+     * @param after 이전 페이지 응답의 next, 첫 페이지는 null
+     */
+    public TransactionHistory.Response getTransactionHistory(String accountNumber, String after, int size) {
+        Long accountId = getAccountId(accountNumber);
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        // 한 건 더 읽어 다음 페이지가 있는지 판단한다
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<TransactionHistoryItem> items;
+        if (after == null) {
+            items = transactionRepository.findHistory(accountId, pageable);
+        } else {
+            TransactionHistory.Cursor cursor = TransactionHistory.Cursor.decode(after);
+            items = transactionRepository.findHistoryAfter(
+                    accountId, cursor.getTransactedAt(), cursor.getId(), pageable);
+        }
+
+        if (items.size() <= pageSize) {
+            return new TransactionHistory.Response(items, null);
+        }
+        List<TransactionHistoryItem> page = new ArrayList<>(items.subList(0, pageSize));
+        return new TransactionHistory.Response(
+                page, TransactionHistory.Cursor.of(page.get(pageSize - 1)).encode());
+    }
+
+    public Long getAccountId(String accountNumber) {
+        return accountRepository.findKeyByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND))
+                .getId();
+    }
+
+    /**
+     * 계좌의 전체 거래를 한 줄씩 outputStream 에 쓴다.
+     * DB 커서를 fetch size 단위로 읽으므로 거래 수와 관계없이 메모리 사용량이 일정하다.
+     */
+    @Transactional
+    public void exportTransactionHistory(Long accountId,
+                                         ExportFormat format,
+                                         OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        try (Stream<TransactionHistoryItem> items = transactionRepository.streamHistory(accountId)) {
+            Iterator<TransactionHistoryItem> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                TransactionHistoryItem item = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, item);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(item));
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Writer writer, TransactionHistoryItem item) throws IOException {
+        writer.write(item.getTransactionId());
+        writer.write(',');
+        writer.write(String.valueOf(item.getTransactionType()));
+        writer.write(',');
+        writer.write(String.valueOf(item.getTransactionResultType()));
+        writer.write(',');
+        writer.write(String.valueOf(item.getAmount()));
+        writer.write(',');
+        writer.write(String.valueOf(item.getBalanceSnapshot()));
+        writer.write(',');
+        writer.write(String.valueOf(item.getTransactedAt()));
+        writer.write('\n');
+    }
+}
@@ -1,40 +1,85 @@
 package com.zero.account.service;
 
+import com.zero.account.aop.OptimisticRetry;
 import com.zero.account.domain.Account;
-import com.zero.account.domain.AccountUser;
 import com.zero.account.domain.Transaction;
+import com.zero.account.dto.AccountBalanceView;
+import com.zero.account.dto.AccountKey;
+import com.zero.account.dto.AccountUserInfo;
+import com.zero.account.dto.TransactionCreatedEvent;
 import com.zero.account.dto.TransactionDTO;
+import com.zero.account.dto.UseBalance;
+import com.zero.account.dto.UseBalanceBatch;
 import com.zero.account.exception.AccountException;
 import com.zero.account.repository.AccountRepository;
 import com.zero.account.repository.AccountUserRepository;
 import com.zero.account.repository.TransactionRepository;
 import com.zero.account.type.AccountStatus;
+import com.zero.account.type.ConcurrencyMode;
 import com.zero.account.type.ErrorCode;
 import com.zero.account.type.TransactionResultType;
 import com.zero.account.type.TransactionType;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
 
+// 메서드별 account.service 타이머 (class, method 태그)
+@Timed(value = "account.service", histogram = true)
 @Slf4j
-@RequiredArgsConstructor
 @Service
 public class TransactionService {
 
+    // V5 의 원거래당 취소 한 건 제약, DB 마다 이름 앞뒤에 스키마나 인덱스 접미사가 붙을 수 있다
+    private static final String ORIGINAL_TRANSACTION_ID_CONSTRAINT = "uk_transaction_original_transaction_id";
+
     private final TransactionRepository transactionRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrencyMode concurrencyMode;
+
+    public TransactionService(
+            TransactionRepository transactionRepository,
+            AccountUserRepository accountUserRepository,
+            AccountRepository accountRepository,
+            TransactionIdGenerator transactionIdGenerator,
+            FailedTransactionRecorder failedTransactionRecorder,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${account.concurrency.mode:LOCK}") ConcurrencyMode concurrencyMode
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.accountUserRepository = accountUserRepository;
+        this.accountRepository = accountRepository;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.failedTransactionRecorder = failedTransactionRecorder;
+        this.eventPublisher = eventPublisher;
+        this.concurrencyMode = Objects.requireNonNull(concurrencyMode, "concurrencyMode");
+    }
 
+    @OptimisticRetry
     @Transactional
     public TransactionDTO useBalance(Long userId,
                                      String accountNumber,
                                      Long amount) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
+        if (concurrencyMode == ConcurrencyMode.ATOMIC) {
+            return useBalanceAtomically(userId, accountNumber, amount);
+        }
+
+        AccountUserInfo accountUser = accountUserRepository.findInfoById(userId)
                 .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
 
         Account account = accountRepository.findByAccountNumber(accountNumber)
@@ -44,11 +89,103 @@ public class TransactionService {
 
         account.useBalance(amount);
 
-        return TransactionDTO.toTransactionDTO(saveAndGetTransaction(TransactionResultType.S, account, amount,TransactionType.USE));
+        return publishCreated(TransactionDTO.toTransactionDTO(
+                saveAndGetTransaction(TransactionResultType.S, account, amount, TransactionType.USE)));
+    }
+
+    /**
+     * 한 계좌에 대한 여러 건의 잔액 사용을 하나의 트랜잭션으로 처리한다.
+     * 계좌는 한 번만 읽어 차례로 차감하고, 검증에 실패한 건은 예외 대신 실패 결과로 돌려준다.
+     * 실패 거래 기록은 커밋 이후 호출하는 쪽에서 한다.
+     */
+    @OptimisticRetry
+    @Transactional
+    public List<UseBalanceBatch.Result> useBalanceBatch(String accountNumber,
+                                                        List<UseBalance.Request> requests) {
+        if (concurrencyMode == ConcurrencyMode.ATOMIC) {
+            return useBalanceBatchAtomically(accountNumber, requests);
+        }
+
+        List<UseBalanceBatch.Result> results = new ArrayList<>(requests.size());
+
+        Optional<Account> optionalAccount = accountRepository.findByAccountNumber(accountNumber);
+        if (optionalAccount.isEmpty()) {
+            AccountException accountNotFound = new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+            for (UseBalance.Request request : requests) {
+                results.add(UseBalanceBatch.Result.failure(accountNumber, request.getAmount(), accountNotFound));
+            }
+            return results;
+        }
+
+        Account account = optionalAccount.get();
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        for (UseBalance.Request request : requests) {
+            try {
+                AccountUserInfo accountUser = accountUserRepository.findInfoById(request.getUserId())
+                        .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+
+                validateUesBalance(account, accountUser, request.getAmount());
+
+                account.useBalance(request.getAmount());
+
+                Transaction transaction = newTransaction(TransactionResultType.S, account,
+                        request.getAmount(), TransactionType.USE);
+                transactions.add(transaction);
+                results.add(UseBalanceBatch.Result.success(
+                        publishCreated(TransactionDTO.toTransactionDTO(transaction, accountNumber))));
+            } catch (AccountException e) {
+                results.add(UseBalanceBatch.Result.failure(accountNumber, request.getAmount(), e));
+            }
+        }
+
+        // 시퀀스 id + JDBC batch 로 한 번에 INSERT
+        transactionRepository.saveAll(transactions);
+        return results;
+    }
+
+    /**
+     * ATOMIC 모드에서는 건마다 조건부 UPDATE 로 차감한다.
+     * 버전 검사가 없으므로 같은 계좌의 단건 차감과 겹쳐도 묶음 전체가 실패하지 않는다.
+     */
+    private List<UseBalanceBatch.Result> useBalanceBatchAtomically(String accountNumber,
+                                                                   List<UseBalance.Request> requests) {
+        List<UseBalanceBatch.Result> results = new ArrayList<>(requests.size());
+        for (UseBalance.Request request : requests) {
+            try {
+                results.add(UseBalanceBatch.Result.success(
+                        useBalanceAtomically(request.getUserId(), accountNumber, request.getAmount())));
+            } catch (AccountException e) {
+                results.add(UseBalanceBatch.Result.failure(accountNumber, request.getAmount(), e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 조건부 UPDATE 한 번으로 검증과 차감을 처리한다.
+     * 갱신된 행이 없을 때만 엔티티를 읽어 실패 사유(ErrorCode)를 판별한다.
+     */
+    private TransactionDTO useBalanceAtomically(Long userId,
+                                                String accountNumber,
+                                                Long amount) {
+        if (accountRepository.debit(accountNumber, userId, amount, LocalDateTime.now()) == 0) {
+            AccountUserInfo accountUser = accountUserRepository.findInfoById(userId)
+                    .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+            validateUesBalance(account, accountUser, amount);
+
+            // 검증을 통과했다면 UPDATE 이후 다른 요청이 계좌를 변경한 경우
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        return saveAndGetTransactionAtomically(accountNumber, amount, TransactionType.USE, null);
     }
 
     private void validateUesBalance(Account account,
-                                    AccountUser accountUser,
+                                    AccountUserInfo accountUser,
                                     Long amount) {
         if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
             throw new AccountException(ErrorCode.USER__ACCOUNT_UNMATCHED);
@@ -63,17 +200,17 @@ public class TransactionService {
         }
     }
 
-    @Transactional
+    /**
+     * 실패 거래는 FailedTransactionRecorder 가 모아서 비동기로 기록한다.
+     */
     public void saveFailedUseTransaction(String accountNumber,
                                          Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
-
-        saveAndGetTransaction(TransactionResultType.F, account, amount,TransactionType.USE);
+        failedTransactionRecorder.record(accountNumber, amount, TransactionType.USE);
     }
 
 
 
+    @OptimisticRetry
     @Transactional
     public TransactionDTO cancelBalance(String transactionId,
                                         String accountNumber,
@@ -81,6 +218,10 @@ public class TransactionService {
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)
                 .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
 
+        if (concurrencyMode == ConcurrencyMode.ATOMIC) {
+            return cancelBalanceAtomically(transaction, accountNumber, amount);
+        }
+
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
@@ -88,16 +229,31 @@ public class TransactionService {
 
         account.cancelUseBalance(amount);
 
-        return TransactionDTO.toTransactionDTO(saveAndGetTransaction(TransactionResultType.S, account, amount,TransactionType.CANCEL));
+        return publishCreated(TransactionDTO.toTransactionDTO(saveAndGetTransaction(TransactionResultType.S, account,
+                account.getBalance(), account.getLedgerSequence(), amount, TransactionType.CANCEL,
+                transaction.getTransactionId())));
     }
 
-    @Transactional
     public void saveFailedCancelTransaction(String accountNumber,
                                            Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        failedTransactionRecorder.record(accountNumber, amount, TransactionType.CANCEL);
+    }
+
+    private TransactionDTO cancelBalanceAtomically(Transaction transaction,
+                                                   String accountNumber,
+                                                   Long amount) {
+        AccountKey accountKey = accountRepository.findKeyByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
-        saveAndGetTransaction(TransactionResultType.F, account, amount,TransactionType.CANCEL);
+        if (!Objects.equals(accountKey.getId(), transaction.getAccount().getId())) {
+            throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UNMATCHED);
+        }
+
+        validateCancelTransaction(transaction, amount);
+
+        accountRepository.credit(accountKey.getId(), amount, LocalDateTime.now());
+
+        return saveAndGetTransactionAtomically(accountNumber, amount, TransactionType.CANCEL, transaction.getTransactionId());
     }
 
     private void validateCancelBalance(Account account, Transaction transaction, Long amount) {
@@ -105,6 +261,23 @@ public class TransactionService {
             throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UNMATCHED);
         }
 
+        validateCancelTransaction(transaction, amount);
+    }
+
+    private void validateCancelTransaction(Transaction transaction, Long amount) {
+        if (transaction.getTransactionResultType() == TransactionResultType.F) {
+            throw new AccountException(ErrorCode.TRANSACTION_ALREADY_FAILED);
+        }
+
+        if (transaction.getTransactionType() != TransactionType.USE) {
+            throw new AccountException(ErrorCode.TRANSACTION_ALREADY_CANCELED_OR_FAILED);
+        }
+
+        // original_transaction_id unique 인덱스 한 번 조회
+        if (transactionRepository.existsByOriginalTransactionId(transaction.getTransactionId())) {
+            throw new AccountException(ErrorCode.TRANSACTION_ALREADY_CANCELED);
+        }
+
         if (!Objects.equals(transaction.getAmount(), amount)) {
             throw new AccountException(ErrorCode.CANCEL_MUST_FULLY);
         }
@@ -114,27 +287,113 @@ public class TransactionService {
         }
     }
 
+    /**
+     * 벌크 UPDATE 이후 잔액만 조회하고, 계좌는 프록시로 참조해 엔티티를 로딩하지 않는다.
+     */
+    private TransactionDTO saveAndGetTransactionAtomically(String accountNumber,
+                                                           Long amount,
+                                                           TransactionType transactionType,
+                                                           String originalTransactionId) {
+        AccountBalanceView balanceView = accountRepository.findBalanceViewByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        return publishCreated(TransactionDTO.toTransactionDTO(
+                saveAndGetTransaction(TransactionResultType.S,
+                        accountRepository.getReferenceById(balanceView.getId()),
+                        balanceView.getBalance(),
+                        balanceView.getLedgerSequence(),
+                        amount,
+                        transactionType,
+                        originalTransactionId),
+                accountNumber));
+    }
+
+    /**
+     * 엔티티로 잔액을 변경한 경우, 잔액과 원장 순번은 계좌에서 읽는다.
+     */
     private Transaction saveAndGetTransaction(TransactionResultType transactionResultType,
                                               Account account,
                                               Long amount,
                                               TransactionType transactionType) {
-        return transactionRepository.save(
-                Transaction.builder()
-                        .transactionType(transactionType)
-                        .transactionResultType(transactionResultType)
-                        .account(account)
-                        .amount(amount)
-                        .balanceSnapshot(account.getBalance())
-                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
-                        .transactedAt(LocalDateTime.now())
-                        .build()
-        );
+        return saveAndGetTransaction(transactionResultType, account, account.getBalance(),
+                account.getLedgerSequence(), amount, transactionType, null);
     }
 
-    public TransactionDTO queryTransaction(String transactionId) {
-        return TransactionDTO.toTransactionDTO(
-                transactionRepository.findByTransactionId(transactionId)
-                        .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND))
+    /**
+     * 취소 거래(originalTransactionId 있음)는 바로 flush 해서
+     * 같은 거래에 대한 동시 취소를 unique 인덱스 위반으로 걸러낸다.
+     */
+    private Transaction saveAndGetTransaction(TransactionResultType transactionResultType,
+                                              Account account,
+                                              Long balanceSnapshot,
+                                              Long ledgerSequence,
+                                              Long amount,
+                                              TransactionType transactionType,
+                                              String originalTransactionId) {
+        Transaction transaction = transactionRepository.save(
+                newTransaction(transactionResultType, account, balanceSnapshot, ledgerSequence, amount,
+                        transactionType, originalTransactionId)
         );
+        if (originalTransactionId != null) {
+            try {
+                transactionRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                if (isOriginalTransactionIdViolation(e)) {
+                    throw new AccountException(ErrorCode.TRANSACTION_ALREADY_CANCELED);
+                }
+                throw e;
+            }
+        }
+        return transaction;
+    }
+
+    /**
+     * 같은 flush 에 계좌 갱신과 거래 INSERT 가 함께 있으므로, 원거래 unique 제약 위반만 이미 취소됨으로 본다.
+     */
+    private static boolean isOriginalTransactionIdViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraintName = violation.getConstraintName();
+                return constraintName != null
+                        && constraintName.toLowerCase(Locale.ROOT).contains(ORIGINAL_TRANSACTION_ID_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    private Transaction newTransaction(TransactionResultType transactionResultType,
+                                       Account account,
+                                       Long amount,
+                                       TransactionType transactionType) {
+        return newTransaction(transactionResultType, account, account.getBalance(),
+                account.getLedgerSequence(), amount, transactionType, null);
+    }
+
+    private Transaction newTransaction(TransactionResultType transactionResultType,
+                                       Account account,
+                                       Long balanceSnapshot,
+                                       Long ledgerSequence,
+                                       Long amount,
+                                       TransactionType transactionType,
+                                       String originalTransactionId) {
+        return Transaction.builder()
+                .transactionType(transactionType)
+                .transactionResultType(transactionResultType)
+                .account(account)
+                .amount(amount)
+                .balanceSnapshot(balanceSnapshot)
+                .ledgerSequence(ledgerSequence)
+                .transactionId(transactionIdGenerator.nextId())
+                .originalTransactionId(originalTransactionId)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 커밋 이후 TransactionQueryService 가 조회 캐시에 넣는다.
+     */
+    private TransactionDTO publishCreated(TransactionDTO transactionDTO) {
+        eventPublisher.publishEvent(new TransactionCreatedEvent(transactionDTO));
+        return transactionDTO;
     }
 }
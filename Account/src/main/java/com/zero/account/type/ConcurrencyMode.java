@@ -0,0 +1,12 @@
+package com.zero.account.type;
+
+/**
+ * account.concurrency.mode
+ */
+public enum ConcurrencyMode {
+    LOCK,
+    OPTIMISTIC,
+    ATOMIC,
+    // 계좌별 단일 writer (AccountCommandDispatcher), 단일 노드 전용
+    ACTOR,
+}
@@ -0,0 +1,46 @@
+CREATE TABLE account_user
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE account
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_user_id  BIGINT,
+    account_number   VARCHAR(10) NOT NULL,
+    account_status   VARCHAR(20),
+    balance          BIGINT,
+    registered_at    TIMESTAMP(6),
+    un_registered_at TIMESTAMP(6),
+    version          BIGINT      NOT NULL DEFAULT 0,
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    CONSTRAINT uk_account_account_number UNIQUE (account_number),
+    CONSTRAINT fk_account_account_user FOREIGN KEY (account_user_id) REFERENCES account_user (id)
+);
+
+CREATE INDEX idx_account_account_user_id ON account (account_user_id);
+
+CREATE TABLE transaction
+(
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    transaction_type        VARCHAR(20),
+    transaction_result_type VARCHAR(20),
+    account_id              BIGINT,
+    amount                  BIGINT,
+    balance_snapshot        BIGINT,
+    transaction_id          VARCHAR(32) NOT NULL,
+    transacted_at           TIMESTAMP(6),
+    created_at              TIMESTAMP(6),
+    updated_at              TIMESTAMP(6),
+    CONSTRAINT uk_transaction_transaction_id UNIQUE (transaction_id),
+    CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES account (id)
+);
+
+CREATE INDEX idx_transaction_account_id ON transaction (account_id);
+
+-- AccountNumberAllocator 는 이 시퀀스의 INCREMENT BY 를 읽어 한 번에 예약할 계좌번호 구간 크기로 쓴다.
+CREATE SEQUENCE account_number_seq START WITH 1000000000 INCREMENT BY 100;
@@ -1,4 +1,6 @@
 INSERT INTO account_user (id,name,created_at,updated_at) VALUES (1,'admin1',now(),now());
 INSERT INTO account_user (id,name,created_at,updated_at) VALUES (2,'admin2',now(),now());
 INSERT INTO account_user (id,name,created_at,updated_at) VALUES (3,'admin3',now(),now());
-INSERT INTO account_user (id,name,created_at,updated_at) VALUES (4,'admin4',now(),now());
\ No newline at end of file
+INSERT INTO account_user (id,name,created_at,updated_at) VALUES (4,'admin4',now(),now());
+
+ALTER TABLE account_user ALTER COLUMN id RESTART WITH 5;
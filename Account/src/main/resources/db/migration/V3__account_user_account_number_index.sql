@@ -0,0 +1,4 @@
+-- GET /account 의 keyset 페이지네이션(account_user_id, account_number > ?)을 인덱스만으로 처리
+DROP INDEX idx_account_account_user_id;
+
+CREATE INDEX idx_account_account_user_id_account_number ON account (account_user_id, account_number);
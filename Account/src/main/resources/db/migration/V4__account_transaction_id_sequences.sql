@@ -0,0 +1,5 @@
+-- Account, Transaction 의 id 를 IDENTITY 에서 시퀀스(pooled-lo, allocationSize=50)로 바꾼다.
+-- INCREMENT BY 는 엔티티의 @SequenceGenerator allocationSize 와 같아야 한다.
+-- 이 시점에 account, transaction 은 비어 있으므로(V2 는 account_user 만 채움) 1 부터 시작한다.
+CREATE SEQUENCE account_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE transaction_id_seq START WITH 1 INCREMENT BY 50;
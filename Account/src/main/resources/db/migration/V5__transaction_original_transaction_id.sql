@@ -0,0 +1,5 @@
+-- CANCEL 거래 -> 원거래 연결, 원거래당 취소는 한 건만 허용한다 (NULL 은 중복 허용)
+ALTER TABLE transaction ADD COLUMN original_transaction_id VARCHAR(32);
+
+ALTER TABLE transaction
+    ADD CONSTRAINT uk_transaction_original_transaction_id UNIQUE (original_transaction_id);
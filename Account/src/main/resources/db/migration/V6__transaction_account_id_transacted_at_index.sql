@@ -0,0 +1,5 @@
+-- GET /account/{accountNumber}/transactions 의 keyset 페이지네이션(transacted_at, id)을 인덱스만으로 처리
+-- account_id 단독 인덱스는 새 인덱스의 선두 컬럼으로 대체된다.
+DROP INDEX idx_transaction_account_id;
+
+CREATE INDEX idx_transaction_account_id_transacted_at_id ON transaction (account_id, transacted_at, id);
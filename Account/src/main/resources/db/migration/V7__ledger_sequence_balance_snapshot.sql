@@ -0,0 +1,24 @@
+-- 계좌별 원장 순번: 성공한 USE/CANCEL 거래마다 1씩 증가, 실패 거래는 NULL
+ALTER TABLE account ADD COLUMN ledger_sequence BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE transaction ADD COLUMN ledger_sequence BIGINT;
+
+ALTER TABLE transaction
+    ADD CONSTRAINT uk_transaction_account_id_ledger_sequence UNIQUE (account_id, ledger_sequence);
+
+CREATE TABLE account_balance_snapshot
+(
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_id      BIGINT NOT NULL,
+    ledger_sequence BIGINT NOT NULL,
+    balance         BIGINT NOT NULL,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT uk_account_balance_snapshot_account_id_ledger_sequence UNIQUE (account_id, ledger_sequence),
+    CONSTRAINT fk_account_balance_snapshot_account FOREIGN KEY (account_id) REFERENCES account (id)
+);
+
+-- 기존 계좌는 현재 잔액을 0번 스냅샷으로 삼고, 이후 거래부터 원장에 순번을 매긴다
+INSERT INTO account_balance_snapshot (account_id, ledger_sequence, balance, created_at, updated_at)
+SELECT id, 0, COALESCE(balance, 0), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM account;
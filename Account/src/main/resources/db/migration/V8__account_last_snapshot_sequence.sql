@@ -0,0 +1,12 @@
+-- 스냅샷 대상 계좌를 계좌 테이블 전체와 스냅샷 테이블을 훑지 않고 인덱스로 찾는다.
+-- last_snapshot_sequence 는 LedgerService.snapshot 이 갱신하고, snapshot_lag 는 그 이후 쌓인 거래 수다.
+ALTER TABLE account ADD COLUMN last_snapshot_sequence BIGINT NOT NULL DEFAULT 0;
+
+UPDATE account a
+SET last_snapshot_sequence = (SELECT COALESCE(MAX(s.ledger_sequence), 0)
+                              FROM account_balance_snapshot s
+                              WHERE s.account_id = a.id);
+
+ALTER TABLE account ADD COLUMN snapshot_lag BIGINT GENERATED ALWAYS AS (ledger_sequence - last_snapshot_sequence);
+
+CREATE INDEX idx_account_snapshot_lag ON account (snapshot_lag);
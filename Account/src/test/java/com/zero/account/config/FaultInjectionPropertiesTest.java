@@ -0,0 +1,33 @@
+package com.zero.account.config;
+
+import com.zero.account.service.LatencyDistribution;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FaultInjectionPropertiesTest {
+
+    @DisplayName("소수점 백분위는 대괄호로 감싸면 키 그대로 바인딩")
+    @Test
+    void bindFractionalPercentile() {
+        //given
+        MapConfigurationPropertySource source = new MapConfigurationPropertySource(Map.of(
+                "fault-injection.endpoints.transaction-use.p50", "0",
+                "fault-injection.endpoints.transaction-use.p99", "5000",
+                "fault-injection.endpoints.transaction-use.[p99.9]", "8000"
+        ));
+        //when
+        FaultInjectionProperties properties = new Binder(source)
+                .bind("fault-injection", FaultInjectionProperties.class)
+                .get();
+        //then
+        Map<String, Long> buckets = properties.getEndpoints().get("transaction-use");
+        assertEquals(Map.of("p50", 0L, "p99", 5000L, "p99.9", 8000L), buckets);
+        assertEquals(8000L, LatencyDistribution.of(buckets).delayAt(99.9));
+    }
+}
@@ -3,25 +3,32 @@ package com.zero.account.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zero.account.domain.Account;
 import com.zero.account.dto.AccountDTO;
+import com.zero.account.dto.AccountInfo;
 import com.zero.account.dto.CreatedAccount;
 import com.zero.account.dto.DeleteAccount;
+import com.zero.account.dto.LedgerBalance;
 import com.zero.account.exception.AccountException;
 import com.zero.account.service.AccountService;
+import com.zero.account.service.LedgerService;
 import com.zero.account.type.AccountStatus;
 import com.zero.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -30,11 +37,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 
 @WebMvcTest(AccountController.class)
+@Import(SimpleMeterRegistry.class)
 class AccountControllerTest {
 
     @MockBean
     private AccountService accountService;
 
+    @MockBean
+    private LedgerService ledgerService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -95,22 +106,22 @@ class AccountControllerTest {
     @Test
     void successGetAccount() throws Exception {
         //given
-        List<AccountDTO> accountDTOs = List.of(
-                AccountDTO.builder()
+        List<AccountInfo> accountInfos = List.of(
+                AccountInfo.builder()
                         .accountNumber("1234567890")
                         .balance(1000L)
                         .build(),
-                AccountDTO.builder()
+                AccountInfo.builder()
                         .accountNumber("1111111111")
                         .balance(1000L)
                         .build(),
-                AccountDTO.builder()
+                AccountInfo.builder()
                         .accountNumber("2222222222")
                         .balance(1000L)
                         .build()
         );
-        given(accountService.getAccountByUserId(anyLong()))
-                .willReturn(accountDTOs);
+        given(accountService.getAccountByUserId(anyLong(), isNull(), anyInt()))
+                .willReturn(accountInfos);
 
         //when
         //then
@@ -157,4 +168,20 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("ACCOUNT_NOT_FOUND"))
                 .andExpect(jsonPath("$.errorMessage").value("계좌가 존재하지 않습니다."));
     }
-}
\ No newline at end of file
+
+    @DisplayName("원장 기준 잔액 조회")
+    @Test
+    void successGetLedgerBalance() throws Exception {
+        //given
+        given(ledgerService.getBalance("1234567890"))
+                .willReturn(new LedgerBalance("1234567890", 9000L, 3L));
+        //when
+        //then
+        mockMvc.perform(get("/account/1234567890/balance"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("1234567890"))
+                .andExpect(jsonPath("$.balance").value(9000L))
+                .andExpect(jsonPath("$.ledgerSequence").value(3L));
+    }
+}
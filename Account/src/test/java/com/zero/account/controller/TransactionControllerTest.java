@@ -3,40 +3,86 @@ package com.zero.account.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zero.account.dto.CancelBalance;
 import com.zero.account.dto.TransactionDTO;
+import com.zero.account.dto.TransactionHistory;
+import com.zero.account.dto.TransactionHistoryItem;
 import com.zero.account.dto.UseBalance;
+import com.zero.account.dto.UseBalanceBatch;
+import com.zero.account.service.AccountCommandDispatcher;
+import com.zero.account.service.HotAccountAccumulator;
+import com.zero.account.service.HotAccountDetector;
+import com.zero.account.service.TransactionBatchService;
+import com.zero.account.service.TransactionQueryService;
 import com.zero.account.service.TransactionService;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.ExportFormat;
 import com.zero.account.type.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static com.zero.account.type.TransactionResultType.F;
 import static com.zero.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
+@Import({AccountCommandDispatcher.class, SimpleMeterRegistry.class})
 class TransactionControllerTest {
 
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionBatchService transactionBatchService;
+
+    @MockBean
+    private TransactionQueryService transactionQueryService;
+
+    @MockBean
+    private HotAccountDetector hotAccountDetector;
+
+    @MockBean
+    private HotAccountAccumulator hotAccountAccumulator;
+
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
     @DisplayName("잔액 사용 성공")
     @Test
     void successUseBalance() throws Exception {
@@ -66,6 +112,33 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.transactedAt").exists());
     }
 
+    @DisplayName("hot account 잔액 사용은 모아서 처리")
+    @Test
+    void successUseBalance_hotAccount() throws Exception {
+        //given
+        given(hotAccountDetector.isHot("1000000002")).willReturn(true);
+        given(hotAccountAccumulator.useBalance(any()))
+                .willReturn(UseBalanceBatch.Result.builder()
+                        .accountNumber("1000000002")
+                        .transactionResultType(S)
+                        .transactionId("1234567890")
+                        .amount(900L)
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+        //when
+        //then
+        mockMvc.perform(post("/transaction/use")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(new UseBalance.Request(1L, "1000000002", 900L))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("1000000002"))
+                .andExpect(jsonPath("$.transactionId").value("1234567890"))
+                .andExpect(jsonPath("$.amount").value(900L));
+
+        verify(transactionService, never()).useBalance(anyLong(), anyString(), anyLong());
+    }
+
     @DisplayName("잔액 취소 성공")
     @Test
     void successCancelBalance() throws Exception {
@@ -110,7 +183,7 @@ class TransactionControllerTest {
                 .build();
 
 
-        given(transactionService.queryTransaction(anyString()))
+        given(transactionQueryService.queryTransaction(anyString()))
                 .willReturn(transactionDTO);
 
         //when
@@ -125,5 +198,103 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.amount").value(54321L))
                 .andExpect(jsonPath("$.transactedAt").exists());
 
+        // 조회는 한 번만
+        verify(transactionQueryService, times(1)).queryTransaction("transactionIdForCancel");
+    }
+
+    @DisplayName("계좌 거래 내역 조회")
+    @Test
+    void successGetTransactionHistory() throws Exception {
+        //given
+        given(transactionQueryService.getTransactionHistory("1000000000", null, 20))
+                .willReturn(new TransactionHistory.Response(
+                        List.of(new TransactionHistoryItem(5L, "transactionId", TransactionType.USE, S,
+                                1000L, 9000L, LocalDateTime.now())),
+                        "nextCursor"));
+        //when
+        //then
+        mockMvc.perform(get("/account/1000000000/transactions"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.transactions[0].balanceSnapshot").value(9000L))
+                .andExpect(jsonPath("$.transactions[0].id").doesNotExist())
+                .andExpect(jsonPath("$.next").value("nextCursor"));
+    }
+
+    @DisplayName("계좌 거래 내역 CSV 내보내기")
+    @Test
+    void successExportTransactionHistory() throws Exception {
+        //given
+        given(transactionQueryService.getAccountId("1000000000"))
+                .willReturn(7L);
+        willAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write("header\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(transactionQueryService).exportTransactionHistory(eq(7L), eq(ExportFormat.CSV), any());
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/account/1000000000/transactions/export")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"1000000000-transactions.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("header\n"));
+    }
+
+    @DisplayName("잔액 사용 일괄 처리 - 건별 결과")
+    @Test
+    void successUseBalanceBatch() throws Exception {
+        //given
+        given(transactionBatchService.useBalances(anyList()))
+                .willReturn(List.of(
+                        UseBalanceBatch.Result.builder()
+                                .accountNumber("1000000002")
+                                .transactionResultType(S)
+                                .transactionId("transactionId")
+                                .amount(1000L)
+                                .transactedAt(LocalDateTime.now())
+                                .build(),
+                        UseBalanceBatch.Result.builder()
+                                .accountNumber("1000000002")
+                                .transactionResultType(F)
+                                .amount(900_000L)
+                                .errorCode(ErrorCode.AMOUNT_EXCEED_BALANCE)
+                                .build()));
+
+        //when
+        //then
+        mockMvc.perform(post("/transaction/use/batch")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(new UseBalanceBatch.Request(List.of(
+                                new UseBalance.Request(1L, "1000000002", 1000L),
+                                new UseBalance.Request(1L, "1000000002", 900_000L))))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].transactionResultType").value("S"))
+                .andExpect(jsonPath("$[0].transactionId").value("transactionId"))
+                .andExpect(jsonPath("$[1].transactionResultType").value("F"))
+                .andExpect(jsonPath("$[1].errorCode").value("AMOUNT_EXCEED_BALANCE"));
+    }
+
+    @DisplayName("잔액 사용 일괄 처리 - 빈 목록은 INVALID_REQUEST")
+    @Test
+    void failUseBalanceBatch_emptyItems() throws Exception {
+        //given
+        double errors = meterRegistry.get("account.errors").tag("code", "INVALID_REQUEST").counter().count();
+        //when
+        //then
+        mockMvc.perform(post("/transaction/use/batch")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(new UseBalanceBatch.Request(List.of()))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"));
+        assertEquals(errors + 1, meterRegistry.get("account.errors").tag("code", "INVALID_REQUEST").counter().count());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package com.zero.account.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class AccountRepositoryTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DisplayName("스냅샷 대상 - 마지막 스냅샷 이후 거래가 interval 건 이상인 계좌만, 밀린 순으로")
+    @Test
+    void findAccountIdsDueForSnapshot() {
+        //given
+        Long due = insertAccount("1000000000", 150L, 0L);
+        Long mostBehind = insertAccount("1000000001", 300L, 100L);
+        insertAccount("1000000002", 150L, 150L);
+        insertAccount("1000000003", 50L, 0L);
+        //when
+        List<Long> accountIds = accountRepository.findAccountIdsDueForSnapshot(100L, PageRequest.of(0, 100));
+        //then
+        assertEquals(List.of(mostBehind, due), accountIds);
+    }
+
+    @DisplayName("스냅샷을 남기면 새 거래가 쌓일 때까지 대상에서 빠짐")
+    @Test
+    void updateLastSnapshotSequence() {
+        //given
+        Long accountId = insertAccount("1000000000", 150L, 0L);
+        //when
+        int updated = accountRepository.updateLastSnapshotSequence(accountId, 150L);
+        int stale = accountRepository.updateLastSnapshotSequence(accountId, 120L);
+        //then
+        assertEquals(1, updated);
+        assertEquals(0, stale);
+        assertEquals(List.of(), accountRepository.findAccountIdsDueForSnapshot(100L, PageRequest.of(0, 100)));
+    }
+
+    @DisplayName("스냅샷 대상 조회는 계좌 테이블을 훑지 않고 snapshot_lag 인덱스를 탐")
+    @Test
+    void findAccountIdsDueForSnapshot_usesIndex() {
+        //given
+        for (int i = 0; i < 100; i++) {
+            // 새 거래가 없는 계좌
+            insertAccount(String.valueOf(2000000000L + i), 10L, 10L);
+        }
+        //when
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT id FROM account WHERE snapshot_lag >= 100 ORDER BY snapshot_lag DESC", String.class);
+        //then
+        assertTrue(plan.toUpperCase().contains("IDX_ACCOUNT_SNAPSHOT_LAG"), plan);
+    }
+
+    private Long insertAccount(String accountNumber, long ledgerSequence, long lastSnapshotSequence) {
+        jdbcTemplate.update("INSERT INTO account (account_user_id, account_number, account_status, balance, " +
+                        "ledger_sequence, last_snapshot_sequence) VALUES (1, ?, 'IN_USE', 0, ?, ?)",
+                accountNumber, ledgerSequence, lastSnapshotSequence);
+        return jdbcTemplate.queryForObject("SELECT id FROM account WHERE account_number = ?", Long.class, accountNumber);
+    }
+}
@@ -0,0 +1,247 @@
+package com.zero.account.service;
+
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ConcurrencyMode;
+import com.zero.account.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountCommandDispatcherTest {
+
+    private static final String ACCOUNT_NUMBER = "1000000000";
+
+    private AccountCommandDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @DisplayName("같은 계좌의 명령은 여러 요청 스레드에서 와도 같은 스레드에서 하나씩 실행")
+    @Test
+    void sameAccountRunsSequentially() throws Exception {
+        //given
+        dispatcher = new AccountCommandDispatcher(ConcurrencyMode.ACTOR, 4, 1000, 10_000L);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        //when
+        runConcurrently(8, 100, () -> threadNames.add(dispatcher.execute(ACCOUNT_NUMBER, () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            running.decrementAndGet();
+            return Thread.currentThread().getName();
+        })));
+
+        //then
+        assertEquals(1, threadNames.size());
+        assertTrue(threadNames.iterator().next().startsWith("account-actor-"));
+        assertEquals(1, maxRunning.get());
+    }
+
+    @DisplayName("같은 계좌의 명령은 이전 명령의 결과를 이어받음")
+    @Test
+    void sameAccountSeesPreviousCommand() throws Exception {
+        //given
+        dispatcher = new AccountCommandDispatcher(ConcurrencyMode.ACTOR, 4, 1000, 10_000L);
+        // 동기화 없는 값이라도 actor 하나에서만 바뀌므로 갱신이 빠지지 않는다
+        long[] balance = {0L};
+
+        //when
+        runConcurrently(8, 100, () -> dispatcher.execute(ACCOUNT_NUMBER, () -> ++balance[0]));
+
+        //then
+        assertEquals(800L, dispatcher.execute(ACCOUNT_NUMBER, () -> balance[0]));
+    }
+
+    @DisplayName("다른 mailbox 의 계좌는 서로 기다리지 않음")
+    @Test
+    void otherMailboxRunsConcurrently() throws Exception {
+        //given
+        dispatcher = new AccountCommandDispatcher(ConcurrencyMode.ACTOR, 2, 1000, 10_000L);
+        String accountA = accountOfMailbox(0, 2);
+        String accountB = accountOfMailbox(1, 2);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch blocking = new CountDownLatch(1);
+        FutureTask<Boolean> blocked = executeInBackground(accountA, running, blocking);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        //when
+        String other = dispatcher.execute(accountB, () -> Thread.currentThread().getName());
+        blocking.countDown();
+
+        //then
+        assertTrue(blocked.get(5, TimeUnit.SECONDS));
+        assertNotEquals("account-actor-0", other);
+    }
+
+    @DisplayName("명령이 던진 예외는 그대로 전달")
+    @Test
+    void execute_unwrapException() {
+        //given
+        dispatcher = new AccountCommandDispatcher(ConcurrencyMode.ACTOR, 4, 1000, 10_000L);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> dispatcher.execute(ACCOUNT_NUMBER, () -> {
+                    throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+                }));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @DisplayName("actor 안에서 다시 보내면 그 자리에서 실행")
+    @Test
+    void execute_nested() {
+        //given
+        dispatcher = new AccountCommandDispatcher(ConcurrencyMode.ACTOR, 1, 1000, 10_000L);
+
+        //when
+        String inner = dispatcher.execute(ACCOUNT_NUMBER,
+                () -> dispatcher.execute("1000000001", () -> Thread.currentThread().getName()));
+
+        //then
+        assertEquals("account-actor-0", inner);
+    }
+
+    @DisplayName("mailbox 가 가득 차면 ACCOUNT_TRANSACTION_LOCK 으로 바로 거절")
+    @Test
+    void execute_mailboxFull() throws Exception {
+        //given
+        dispatcher = new AccountCommandDispatcher(ConcurrencyMode.ACTOR, 1, 1, 10_000L);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch blocking = new CountDownLatch(1);
+        FutureTask<Boolean> blocked = executeInBackground(ACCOUNT_NUMBER, running, blocking);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        // mailbox 의 한 자리를 채운다
+        FutureTask<Boolean> queued = new FutureTask<>(() -> dispatcher.execute(ACCOUNT_NUMBER, () -> true));
+        Thread queuedCaller = new Thread(queued);
+        queuedCaller.start();
+        awaitWaitingForResult(queuedCaller);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> dispatcher.execute(ACCOUNT_NUMBER, () -> true));
+        blocking.countDown();
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertTrue(blocked.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @DisplayName("wait-timeout 안에 시작하지 못한 명령은 실행하지 않고 ACCOUNT_TRANSACTION_LOCK")
+    @Test
+    void execute_timeoutWhileQueued() throws Exception {
+        //given
+        dispatcher = new AccountCommandDispatcher(ConcurrencyMode.ACTOR, 1, 1000, 200L);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch blocking = new CountDownLatch(1);
+        // 이미 시작한 명령은 wait-timeout 을 넘겨도 결과를 기다린다
+        FutureTask<Boolean> blocked = executeInBackground(ACCOUNT_NUMBER, running, blocking);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        AtomicBoolean executed = new AtomicBoolean();
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> dispatcher.execute(ACCOUNT_NUMBER, () -> executed.getAndSet(true)));
+        blocking.countDown();
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertTrue(blocked.get(5, TimeUnit.SECONDS));
+        // 같은 mailbox 의 다음 명령이 끝났으면 건너뛴 명령도 이미 지나갔다
+        assertTrue(dispatcher.execute(ACCOUNT_NUMBER, () -> true));
+        assertFalse(executed.get());
+    }
+
+    @DisplayName("ACTOR 모드가 아니면 호출 스레드에서 실행")
+    @Test
+    void execute_notActorMode() {
+        //given
+        dispatcher = new AccountCommandDispatcher(ConcurrencyMode.LOCK, 4, 1000, 10_000L);
+
+        //when
+        String threadName = dispatcher.execute(ACCOUNT_NUMBER, () -> Thread.currentThread().getName());
+
+        //then
+        assertEquals(Thread.currentThread().getName(), threadName);
+    }
+
+    private void runConcurrently(int threads, int commandsPerThread, Runnable command) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(() -> {
+                for (int j = 0; j < commandsPerThread; j++) {
+                    command.run();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+    }
+
+    /**
+     * 다른 요청 스레드에서 blocking 이 풀릴 때까지 actor 를 붙잡는 명령을 실행한다
+     */
+    private FutureTask<Boolean> executeInBackground(String accountNumber,
+                                                    CountDownLatch running,
+                                                    CountDownLatch blocking) {
+        FutureTask<Boolean> task = new FutureTask<>(() -> dispatcher.execute(accountNumber, () -> {
+            running.countDown();
+            try {
+                return blocking.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        new Thread(task).start();
+        return task;
+    }
+
+    /**
+     * 요청 스레드가 mailbox 에 명령을 넣고 결과를 기다리기 시작할 때까지 (future.get(timeout)) 기다린다
+     */
+    private void awaitWaitingForResult(Thread caller) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (caller.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(System.nanoTime() < deadline, "caller did not start waiting");
+            Thread.sleep(1);
+        }
+    }
+
+    private String accountOfMailbox(int mailbox, int mailboxes) {
+        for (long n = 1000000000L; ; n++) {
+            String accountNumber = String.valueOf(n);
+            if (Math.floorMod(accountNumber.hashCode(), mailboxes) == mailbox) {
+                return accountNumber;
+            }
+        }
+    }
+}
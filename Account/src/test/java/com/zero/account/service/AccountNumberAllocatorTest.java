@@ -0,0 +1,104 @@
+package com.zero.account.service;
+
+import com.zero.account.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberAllocatorTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @DisplayName("예약한 구간 안에서는 DB 조회 없이 발급")
+    @Test
+    void allocateWithinBlock() {
+        //given
+        given(accountRepository.reserveAccountNumberBlock())
+                .willReturn(1000000000L, 1000000003L);
+        AccountNumberAllocator allocator = new AccountNumberAllocator(accountRepository, 3);
+        //when
+        //then
+        assertEquals("1000000000", allocator.nextAccountNumber());
+        assertEquals("1000000001", allocator.nextAccountNumber());
+        assertEquals("1000000002", allocator.nextAccountNumber());
+        verify(accountRepository, times(1)).reserveAccountNumberBlock();
+
+        assertEquals("1000000003", allocator.nextAccountNumber());
+        verify(accountRepository, times(2)).reserveAccountNumberBlock();
+    }
+
+    @DisplayName("동시 발급 시 중복 없음")
+    @Test
+    void allocateConcurrently() throws InterruptedException {
+        //given
+        AtomicLong sequence = new AtomicLong(1000000000L);
+        given(accountRepository.reserveAccountNumberBlock())
+                .willAnswer(invocation -> sequence.getAndAdd(10));
+        AccountNumberAllocator allocator = new AccountNumberAllocator(accountRepository, 10);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        //when
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> numbers.add(allocator.nextAccountNumber()));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        //then
+        assertEquals(1000, numbers.size());
+    }
+
+    @DisplayName("구간 크기는 시퀀스의 INCREMENT BY 를 따름")
+    @Test
+    void blockSizeFromSequence() {
+        //given
+        given(accountRepository.findAccountNumberSequenceIncrement()).willReturn(2L);
+        given(accountRepository.reserveAccountNumberBlock())
+                .willReturn(1000000000L, 1000000002L);
+        AccountNumberAllocator allocator = new AccountNumberAllocator(accountRepository);
+        //when
+        allocator.nextAccountNumber();
+        allocator.nextAccountNumber();
+        //then
+        assertEquals("1000000002", allocator.nextAccountNumber());
+        verify(accountRepository, times(2)).reserveAccountNumberBlock();
+    }
+
+    @DisplayName("시퀀스가 없으면 시작하지 않음")
+    @Test
+    void sequenceNotFound() {
+        //given
+        given(accountRepository.findAccountNumberSequenceIncrement()).willReturn(null);
+        //when
+        //then
+        assertThrows(IllegalStateException.class, () -> new AccountNumberAllocator(accountRepository));
+    }
+
+    @DisplayName("10자리 계좌번호 소진")
+    @Test
+    void exhausted() {
+        //given
+        given(accountRepository.reserveAccountNumberBlock())
+                .willReturn(9_999_999_999L);
+        AccountNumberAllocator allocator = new AccountNumberAllocator(accountRepository, 100);
+        //when
+        //then
+        assertThrows(IllegalStateException.class, allocator::nextAccountNumber);
+    }
+}
@@ -1,9 +1,13 @@
 package com.zero.account.service;
 
 import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountBalanceSnapshot;
 import com.zero.account.domain.AccountUser;
 import com.zero.account.dto.AccountDTO;
+import com.zero.account.dto.AccountInfo;
+import com.zero.account.dto.AccountUserInfo;
 import com.zero.account.exception.AccountException;
+import com.zero.account.repository.AccountBalanceSnapshotRepository;
 import com.zero.account.repository.AccountRepository;
 import com.zero.account.repository.AccountUserRepository;
 import com.zero.account.type.AccountStatus;
@@ -15,6 +19,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -35,6 +41,12 @@ public class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Mock
+    private AccountBalanceSnapshotRepository snapshotRepository;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -46,12 +58,13 @@ public class AccountServiceTest {
                 .name("pobi").build();
         user.setId(12L);
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.findInfoById(anyLong()))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(user)));
+        given(accountUserRepository.getReferenceById(anyLong()))
+                .willReturn(user);
 
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.of(Account.builder()
-                        .accountNumber("1000000012").build()));
+        given(accountNumberAllocator.nextAccountNumber())
+                .willReturn("1000000013");
 
         given(accountRepository.save(any(Account.class)))
                 .willReturn(Account.builder()
@@ -68,6 +81,12 @@ public class AccountServiceTest {
         verify(accountRepository, times(1)).save(captor.capture());
         assertEquals(12L, accountDTO.getUserId());
         assertEquals("1000000013", captor.getValue().getAccountNumber());
+        assertEquals(user, captor.getValue().getAccountUser());
+
+        ArgumentCaptor<AccountBalanceSnapshot> snapshotCaptor = ArgumentCaptor.forClass(AccountBalanceSnapshot.class);
+        verify(snapshotRepository, times(1)).save(snapshotCaptor.capture());
+        assertEquals(0L, snapshotCaptor.getValue().getLedgerSequence());
+        assertEquals(1000L, snapshotCaptor.getValue().getBalance());
     }
 
 
@@ -80,11 +99,13 @@ public class AccountServiceTest {
                 .build();
         user.setId(15L);
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.findInfoById(anyLong()))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(user)));
+        given(accountUserRepository.getReferenceById(anyLong()))
+                .willReturn(user);
 
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.empty());
+        given(accountNumberAllocator.nextAccountNumber())
+                .willReturn("1000000000");
 
         given(accountRepository.save(any(Account.class)))
                 .willReturn(Account.builder()
@@ -107,7 +128,7 @@ public class AccountServiceTest {
     @Test
     void createAccount_UserNotFound() {
         //given
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserRepository.findInfoById(anyLong()))
                 .willReturn(Optional.empty());
 
         //when
@@ -129,8 +150,10 @@ public class AccountServiceTest {
 
         user.setId(12L);
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.findInfoById(anyLong()))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(user)));
+        given(accountUserRepository.getReferenceById(anyLong()))
+                .willReturn(user);
 
         given(accountRepository.countByAccountUser(user))
                 .willReturn(10);
@@ -151,8 +174,8 @@ public class AccountServiceTest {
                 .build();
 
         user.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.findInfoById(anyLong()))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(user)));
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -179,7 +202,7 @@ public class AccountServiceTest {
     @Test
     void deleteAccount_UserNotFound(){
         //given
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserRepository.findInfoById(anyLong()))
                 .willReturn(Optional.empty());
         //when
         AccountException accountException = assertThrows(AccountException.class,
@@ -197,8 +220,8 @@ public class AccountServiceTest {
                 .name("pobi")
                 .build();
         user.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.findInfoById(anyLong()))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(user)));
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.empty());
@@ -222,8 +245,8 @@ public class AccountServiceTest {
                 .name("crong")
                 .build();
         user.setId(16L);
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.findInfoById(anyLong()))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(user)));
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -248,8 +271,8 @@ public class AccountServiceTest {
                 .build();
 
         user.setId(15L);
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.findInfoById(anyLong()))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(user)));
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(
@@ -274,8 +297,8 @@ public class AccountServiceTest {
                 .name("pobi")
                 .build();
         user.setId(15L);
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.findInfoById(anyLong()))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(user)));
 
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(
@@ -303,49 +326,86 @@ public class AccountServiceTest {
                 .build();
 
         accountUser.setId(1L);
-        List<Account> accountDTOs = List.of(
-                Account.builder()
-                        .accountUser(accountUser)
-                        .accountNumber("1234567890")
-                        .balance(1000L)
-                        .build(),
-                Account.builder()
-                        .accountUser(accountUser)
-                        .accountNumber("1111111111")
-                        .balance(2000L)
-                        .build(),
-                Account.builder()
-                        .accountUser(accountUser)
-                        .accountNumber("2222222222")
-                        .balance(3000L)
-                        .build()
+        List<AccountInfo> accountInfos = List.of(
+                new AccountInfo("1111111111", 2000L),
+                new AccountInfo("1234567890", 1000L),
+                new AccountInfo("2222222222", 3000L)
         );
-        given(accountUserRepository.findById(anyLong())).willReturn(Optional.of(accountUser));
-        given(accountRepository.findAllByAccountUser(any())).willReturn(accountDTOs);
+        given(accountUserRepository.findInfoById(anyLong())).willReturn(Optional.of(AccountUserInfo.fromEntity(accountUser)));
+        given(accountRepository.findAccountInfos(eq(1L), eq(""), any())).willReturn(accountInfos);
 
         //when
-        List<AccountDTO> accountDTOList = accountService.getAccountByUserId(1L);
+        List<AccountInfo> accountInfoList = accountService.getAccountByUserId(1L, null, 10);
 
         //then
-        assertEquals(3, accountDTOList.size());
-        assertEquals("1234567890", accountDTOList.get(0).getAccountNumber());
-        assertEquals(1000L, accountDTOList.get(0).getBalance());
-        assertEquals("1111111111", accountDTOList.get(1).getAccountNumber());
-        assertEquals(2000L, accountDTOList.get(1).getBalance());
-        assertEquals("2222222222", accountDTOList.get(2).getAccountNumber());
-        assertEquals(3000L, accountDTOList.get(2).getBalance());
+        assertEquals(3, accountInfoList.size());
+        assertEquals("1111111111", accountInfoList.get(0).getAccountNumber());
+        assertEquals(2000L, accountInfoList.get(0).getBalance());
+        assertEquals("1234567890", accountInfoList.get(1).getAccountNumber());
+        assertEquals(1000L, accountInfoList.get(1).getBalance());
+        assertEquals("2222222222", accountInfoList.get(2).getAccountNumber());
+        assertEquals(3000L, accountInfoList.get(2).getBalance());
+    }
+
+    @DisplayName("User ID로 계좌 조회 - 다음 페이지, 최대 크기 제한")
+    @Test
+    void getAccountByUserId_nextPage(){
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .name("test")
+                .build();
+        accountUser.setId(1L);
+
+        given(accountUserRepository.findInfoById(anyLong())).willReturn(Optional.of(AccountUserInfo.fromEntity(accountUser)));
+        given(accountRepository.findAccountInfos(eq(1L), eq("1234567890"), any()))
+                .willReturn(List.of(new AccountInfo("2222222222", 3000L)));
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+
+        //when
+        List<AccountInfo> accountInfoList = accountService.getAccountByUserId(1L, "1234567890", 1000);
+
+        //then
+        verify(accountRepository, times(1)).findAccountInfos(eq(1L), eq("1234567890"), captor.capture());
+        assertEquals(100, captor.getValue().getPageSize());
+        assertEquals("2222222222", accountInfoList.get(0).getAccountNumber());
     }
 
     @DisplayName("AccountInfo 조회 실패")
     @Test
     void failToGetAccountInfo(){
         //given
-        given(accountUserRepository.findById(anyLong())).willReturn(Optional.empty());
+        given(accountUserRepository.findInfoById(anyLong())).willReturn(Optional.empty());
         //when
         AccountException accountException = assertThrows(AccountException.class,
                 () -> accountService.deleteAccount(15L, "1000000015"));
         //then
         assertEquals(ErrorCode.USER_NOT_FOUND, accountException.getErrorCode());
     }
-}
 
+    @DisplayName("계좌 단건 조회 - accountUser 를 함께 조회")
+    @Test
+    void getAccount(){
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .name("test")
+                .build();
+        accountUser.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountNumber("1000000015")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .build();
+        account.setId(15L);
+
+        given(accountRepository.findWithAccountUserById(15L)).willReturn(Optional.of(account));
+        //when
+        Account result = accountService.getAccount(15L);
+        //then
+        assertEquals("1000000015", result.getAccountNumber());
+        assertEquals(1L, result.getAccountUser().getId());
+        verify(accountRepository, never()).findById(anyLong());
+    }
+}
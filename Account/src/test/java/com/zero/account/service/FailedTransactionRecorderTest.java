@@ -0,0 +1,177 @@
+package com.zero.account.service;
+
+import com.zero.account.dto.LedgerEntry;
+import com.zero.account.type.TransactionResultType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.zero.account.type.TransactionType.CANCEL;
+import static com.zero.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionRecorderTest {
+
+    @Mock
+    private LedgerIngestService ledgerIngestService;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // writer 스레드는 띄우지 않고 running 상태만 맞춰 큐 동작을 확인한다
+    private FailedTransactionRecorder recorder(int queueCapacity, int batchSize) {
+        FailedTransactionRecorder recorder = new FailedTransactionRecorder(
+                ledgerIngestService, transactionIdGenerator, meterRegistry, queueCapacity, batchSize, 0L);
+        ReflectionTestUtils.setField(recorder, "running", true);
+        return recorder;
+    }
+
+    @DisplayName("실패 거래는 큐에 쌓이고 flush 시 batch 로 기록")
+    @Test
+    void recordAndFlushInBatches() {
+        //given
+        given(transactionIdGenerator.nextId()).willReturn("tx1", "tx2", "tx3");
+        FailedTransactionRecorder recorder = recorder(10, 2);
+
+        //when
+        recorder.record("1000000000", 1000L, USE);
+        recorder.record("1000000001", 2000L, CANCEL);
+        recorder.record("1000000002", 3000L, USE);
+
+        //then
+        verify(ledgerIngestService, never()).ingest(anyList());
+        assertEquals(3.0, meterRegistry.get("account.failed-transaction.queue").gauge().value());
+
+        ArgumentCaptor<List<LedgerEntry>> captor = ArgumentCaptor.forClass(List.class);
+        recorder.flush();
+
+        verify(ledgerIngestService, times(2)).ingest(captor.capture());
+        assertEquals(2, captor.getAllValues().get(0).size());
+        assertEquals(1, captor.getAllValues().get(1).size());
+
+        LedgerEntry first = captor.getAllValues().get(0).get(0);
+        assertEquals(USE, first.getTransactionType());
+        assertEquals(TransactionResultType.F, first.getTransactionResultType());
+        assertEquals(1000L, first.getAmount());
+        assertEquals("tx1", first.getTransactionId());
+        assertEquals("1000000000", first.getAccountNumber());
+        assertEquals(0.0, meterRegistry.get("account.failed-transaction.queue").gauge().value());
+    }
+
+    @DisplayName("큐가 가득 차면 요청 스레드에서 바로 기록")
+    @Test
+    void queueFull_writeSynchronously() {
+        //given
+        given(transactionIdGenerator.nextId()).willReturn("tx1", "tx2");
+        FailedTransactionRecorder recorder = recorder(1, 10);
+
+        ArgumentCaptor<List<LedgerEntry>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        recorder.record("1000000000", 1000L, USE);
+        recorder.record("1000000001", 2000L, USE);
+
+        //then
+        verify(ledgerIngestService, times(1)).ingest(captor.capture());
+        assertEquals("tx2", captor.getValue().get(0).getTransactionId());
+        assertEquals(1.0, meterRegistry.get("account.failed-transaction.synchronous").counter().count());
+    }
+
+    @DisplayName("기록 실패 시 예외를 전파하지 않고 카운트")
+    @Test
+    void writeFailure_counted() {
+        //given
+        given(transactionIdGenerator.nextId()).willReturn("tx1");
+        given(ledgerIngestService.ingest(anyList()))
+                .willThrow(new DataAccessResourceFailureException("db down"));
+        FailedTransactionRecorder recorder = recorder(10, 10);
+
+        //when
+        recorder.record("1000000000", 1000L, USE);
+        recorder.flush();
+
+        //then
+        assertEquals(1.0, meterRegistry.get("account.failed-transaction.write.errors").counter().count());
+    }
+
+    @DisplayName("종료 시 남은 큐를 모두 기록")
+    @Test
+    void stop_flushesRemaining() throws InterruptedException {
+        //given
+        given(transactionIdGenerator.nextId()).willReturn("tx1", "tx2");
+        FailedTransactionRecorder recorder = recorder(10, 10);
+        recorder.record("1000000000", 1000L, USE);
+        recorder.record("1000000001", 1000L, USE);
+
+        //when
+        recorder.stop();
+
+        //then
+        verify(ledgerIngestService, times(1)).ingest(anyList());
+        assertEquals(0.0, meterRegistry.get("account.failed-transaction.queue").gauge().value());
+    }
+
+    @DisplayName("종료와 동시에 들어온 실패 거래도 빠짐없이 기록")
+    @Test
+    void stop_concurrentRecord() throws Exception {
+        //given
+        given(transactionIdGenerator.nextId()).willReturn("tx");
+        AtomicInteger written = new AtomicInteger();
+        given(ledgerIngestService.ingest(anyList())).willAnswer(invocation -> {
+            List<LedgerEntry> entries = invocation.getArgument(0);
+            return written.addAndGet(entries.size());
+        });
+        FailedTransactionRecorder recorder = recorder(100_000, 100);
+
+        int threads = 4;
+        int recordsPerThread = 2_000;
+        CountDownLatch started = new CountDownLatch(threads);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(() -> {
+                started.countDown();
+                for (int j = 0; j < recordsPerThread; j++) {
+                    recorder.record("1000000000", 1000L, USE);
+                }
+            }));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        //when
+        recorder.stop();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        //then
+        // 종료 전에 큐에 들어간 기록은 stop 이, 이후 기록은 요청 스레드가 바로 남긴다
+        assertEquals(threads * recordsPerThread, written.get());
+        assertEquals(0.0, meterRegistry.get("account.failed-transaction.queue").gauge().value());
+    }
+}
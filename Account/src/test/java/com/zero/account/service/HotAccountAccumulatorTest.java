@@ -0,0 +1,190 @@
+package com.zero.account.service;
+
+import com.zero.account.dto.UseBalance;
+import com.zero.account.dto.UseBalanceBatch;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HotAccountAccumulatorTest {
+
+    @Mock
+    private TransactionBatchService transactionBatchService;
+
+    private HotAccountAccumulator accumulator;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (accumulator != null) {
+            accumulator.stop();
+        }
+    }
+
+    @DisplayName("동시에 들어온 잔액 사용을 모아서 한 번에 처리")
+    @Test
+    void groupsConcurrentRequests() throws Exception {
+        //given
+        accumulator = new HotAccountAccumulator(transactionBatchService, new SimpleMeterRegistry(), 100, 200, 1000, 1, 10_000L);
+        given(transactionBatchService.useBalances(anyList()))
+                .willAnswer(invocation -> {
+                    List<UseBalance.Request> requests = invocation.getArgument(0);
+                    List<UseBalanceBatch.Result> results = new ArrayList<>();
+                    for (UseBalance.Request request : requests) {
+                        results.add(success(request));
+                    }
+                    return results;
+                });
+
+        int requestCount = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UseBalanceBatch.Result>> futures = new ArrayList<>();
+        //when
+        for (int i = 0; i < requestCount; i++) {
+            long amount = i + 1;
+            futures.add(executorService.submit(() -> {
+                start.await();
+                return accumulator.useBalance(new UseBalance.Request(1L, "1000000000", amount));
+            }));
+        }
+        start.countDown();
+        //then
+        for (int i = 0; i < requestCount; i++) {
+            assertEquals(i + 1, futures.get(i).get(5, TimeUnit.SECONDS).getAmount());
+        }
+        // linger 동안 모인 요청은 한 번에, 늦게 도착한 요청이 있어도 두 번 안에 처리된다
+        verify(transactionBatchService, atMost(2)).useBalances(anyList());
+        executorService.shutdown();
+    }
+
+    @DisplayName("실패한 건은 AccountException 으로 돌려줌")
+    @Test
+    void failedResultThrows() {
+        //given
+        accumulator = new HotAccountAccumulator(transactionBatchService, new SimpleMeterRegistry(), 100, 0, 1000, 1, 10_000L);
+        given(transactionBatchService.useBalances(anyList()))
+                .willReturn(List.of(UseBalanceBatch.Result.failure(
+                        "1000000000", 1000L, new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE))));
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> accumulator.useBalance(new UseBalance.Request(1L, "1000000000", 1000L)));
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+    }
+
+    @DisplayName("일괄 처리 자체가 실패하면 모은 요청 모두 실패")
+    @Test
+    void flushErrorPropagates() {
+        //given
+        accumulator = new HotAccountAccumulator(transactionBatchService, new SimpleMeterRegistry(), 100, 0, 1000, 1, 10_000L);
+        given(transactionBatchService.useBalances(anyList()))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> accumulator.useBalance(new UseBalance.Request(1L, "1000000000", 1000L)));
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+    }
+
+    @DisplayName("계좌 큐가 가득 차면 바로 거절")
+    @Test
+    void rejectsWhenQueueFull() throws Exception {
+        //given
+        accumulator = new HotAccountAccumulator(transactionBatchService, new SimpleMeterRegistry(), 100, 0, 1, 1, 10_000L);
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(transactionBatchService.useBalances(anyList()))
+                .willAnswer(invocation -> {
+                    flushing.countDown();
+                    release.await();
+                    List<UseBalance.Request> requests = invocation.getArgument(0);
+                    return requests.stream().map(HotAccountAccumulatorTest::success).toList();
+                });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        // 첫 요청은 writer 가 처리 중, 두 번째 요청이 큐 하나를 채운다
+        Future<UseBalanceBatch.Result> first = executorService.submit(
+                () -> accumulator.useBalance(new UseBalance.Request(1L, "1000000000", 1L)));
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        Future<UseBalanceBatch.Result> second = executorService.submit(
+                () -> accumulator.useBalance(new UseBalance.Request(1L, "1000000000", 2L)));
+        Thread.sleep(100);
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> accumulator.useBalance(new UseBalance.Request(1L, "1000000000", 3L)));
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        release.countDown();
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).getAmount());
+        assertEquals(2L, second.get(5, TimeUnit.SECONDS).getAmount());
+        executorService.shutdown();
+    }
+
+    @DisplayName("wait-timeout 안에 묶음에 들어가지 못한 요청은 처리하지 않고 ACCOUNT_TRANSACTION_LOCK")
+    @Test
+    void timesOutWhileQueued() throws Exception {
+        //given
+        accumulator = new HotAccountAccumulator(transactionBatchService, new SimpleMeterRegistry(), 1, 0, 100, 1, 200L);
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> processedAmounts = new CopyOnWriteArrayList<>();
+        given(transactionBatchService.useBalances(anyList()))
+                .willAnswer(invocation -> {
+                    List<UseBalance.Request> requests = invocation.getArgument(0);
+                    requests.forEach(request -> processedAmounts.add(request.getAmount()));
+                    flushing.countDown();
+                    release.await();
+                    return requests.stream().map(HotAccountAccumulatorTest::success).toList();
+                });
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        // 첫 요청은 writer 가 처리 중(wait-timeout 을 넘겨도 결과를 기다림)
+        Future<UseBalanceBatch.Result> first = executorService.submit(
+                () -> accumulator.useBalance(new UseBalance.Request(1L, "1000000000", 1L)));
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> accumulator.useBalance(new UseBalance.Request(1L, "1000000000", 2L)));
+        release.countDown();
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).getAmount());
+        Thread.sleep(100);
+        assertEquals(List.of(1L), processedAmounts);
+        executorService.shutdown();
+    }
+
+    private static UseBalanceBatch.Result success(UseBalance.Request request) {
+        return UseBalanceBatch.Result.builder()
+                .accountNumber(request.getAccountNumber())
+                .transactionResultType(TransactionResultType.S)
+                .transactionId("transactionId-" + request.getAmount())
+                .amount(request.getAmount())
+                .build();
+    }
+}
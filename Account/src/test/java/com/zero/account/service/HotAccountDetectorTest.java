@@ -0,0 +1,74 @@
+package com.zero.account.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotAccountDetectorTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @DisplayName("hot account 모드가 꺼져 있으면 항상 false")
+    @Test
+    void disabled() {
+        //given
+        HotAccountDetector detector = new HotAccountDetector(false, 1, List.of("1000000000"));
+        //when
+        //then
+        assertFalse(detector.isHot("1000000000"));
+    }
+
+    @DisplayName("지정한 계좌는 요청 수와 관계없이 hot")
+    @Test
+    void pinnedAccount() {
+        //given
+        HotAccountDetector detector = new HotAccountDetector(true, 1000, List.of("1000000000"));
+        //when
+        //then
+        assertTrue(detector.isHot("1000000000"));
+        assertFalse(detector.isHot("1000000001"));
+    }
+
+    @DisplayName("초당 요청 수가 기준 이상이면 hot")
+    @Test
+    void thresholdReached() {
+        //given
+        HotAccountDetector detector = new HotAccountDetector(true, 3, List.of());
+        //when
+        boolean first = detector.isHot("1000000000");
+        boolean second = detector.isHot("1000000000");
+        boolean third = detector.isHot("1000000000");
+        //then
+        assertFalse(first);
+        assertFalse(second);
+        assertTrue(third);
+    }
+
+    @DisplayName("한 요청 안에서는 처음 판정을 그대로 따름")
+    @Test
+    void sameDecisionWithinRequest() {
+        //given
+        HotAccountDetector detector = new HotAccountDetector(true, 2, List.of());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        //when
+        boolean first = detector.isHot("1000000000");
+        boolean second = detector.isHot("1000000000");
+        RequestContextHolder.resetRequestAttributes();
+        boolean nextRequest = detector.isHot("1000000000");
+        //then
+        assertFalse(first);
+        assertFalse(second);
+        assertTrue(nextRequest);
+    }
+}
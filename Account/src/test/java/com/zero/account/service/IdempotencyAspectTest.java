@@ -0,0 +1,154 @@
+package com.zero.account.service;
+
+import com.zero.account.aop.Idempotent;
+import com.zero.account.controller.TransactionController;
+import com.zero.account.dto.UseBalance;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private ProceedingJoinPoint pjp;
+
+    @Mock
+    private MethodSignature signature;
+
+    @InjectMocks
+    private IdempotencyAspect idempotencyAspect;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private final UseBalance.Request useRequest = new UseBalance.Request(1L, "1000000000", 1000L);
+
+    private final IdempotencyStore.Key key = new IdempotencyStore.Key(
+            "IDEM:transaction-use:1:1000000000:key-1", "requestHash");
+
+    private final UseBalance.Response response = UseBalance.Response.builder()
+            .accountNumber("1000000000")
+            .transactionId("transactionId")
+            .amount(1000L)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @DisplayName("헤더가 없으면 그대로 처리")
+    @Test
+    void withoutHeader() throws Throwable {
+        //given
+        given(pjp.proceed()).willReturn(response);
+        //when
+        Object result = idempotencyAspect.aroundMethod(pjp, useBalanceIdempotent());
+        //then
+        assertSame(response, result);
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @DisplayName("첫 요청 - 선점 후 처리하고 응답 저장")
+    @Test
+    void firstRequest_claimAndComplete() throws Throwable {
+        //given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        givenReturnType();
+        given(idempotencyStore.claim(key)).willReturn("claim");
+        given(pjp.proceed()).willReturn(response);
+        //when
+        Object result = idempotencyAspect.aroundMethod(pjp, useBalanceIdempotent());
+        //then
+        assertSame(response, result);
+        verify(idempotencyStore, times(1)).complete(key, "claim", response);
+    }
+
+    @DisplayName("재요청 - 저장된 응답을 돌려주고 처리하지 않음")
+    @Test
+    void replay_returnStoredResponse() throws Throwable {
+        //given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        givenReturnType();
+        given(idempotencyStore.find(key, UseBalance.Response.class)).willReturn(response);
+        //when
+        Object result = idempotencyAspect.aroundMethod(pjp, useBalanceIdempotent());
+        //then
+        assertSame(response, result);
+        verify(pjp, never()).proceed();
+        verify(idempotencyStore, never()).claim(any());
+    }
+
+    @DisplayName("같은 키가 처리 중 - IDEMPOTENCY_KEY_IN_PROGRESS")
+    @Test
+    void inProgress() throws Throwable {
+        //given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        givenReturnType();
+        given(idempotencyStore.claim(key)).willReturn(null);
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyAspect.aroundMethod(pjp, useBalanceIdempotent()));
+        //then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, exception.getErrorCode());
+        verify(pjp, never()).proceed();
+    }
+
+    @DisplayName("처리 실패 - 선점을 풀고 예외 전파")
+    @Test
+    void failure_release() throws Throwable {
+        //given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        givenReturnType();
+        given(idempotencyStore.claim(key)).willReturn("claim");
+        given(pjp.proceed()).willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+        //when
+        assertThrows(AccountException.class, () -> idempotencyAspect.aroundMethod(pjp, useBalanceIdempotent()));
+        //then
+        verify(idempotencyStore, times(1)).release(key, "claim");
+        verify(idempotencyStore, never()).complete(any(), any(), any());
+    }
+
+    private void givenReturnType() {
+        given(pjp.getArgs()).willReturn(new Object[]{useRequest});
+        given(idempotencyStore.keyOf("transaction-use", useRequest, "key-1")).willReturn(key);
+        given(pjp.getSignature()).willReturn(signature);
+        given(signature.getReturnType()).willReturn(UseBalance.Response.class);
+    }
+
+    private Idempotent useBalanceIdempotent() throws NoSuchMethodException {
+        return TransactionController.class
+                .getMethod("useBalance", UseBalance.Request.class)
+                .getAnnotation(Idempotent.class);
+    }
+}
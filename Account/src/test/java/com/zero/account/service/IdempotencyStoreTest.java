@@ -0,0 +1,241 @@
+package com.zero.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.zero.account.config.CacheConfig;
+import com.zero.account.config.FaultInjectionProperties;
+import com.zero.account.config.LockProperties;
+import com.zero.account.dto.UseBalance;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.Codec;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.zero.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final String REDIS_KEY = "IDEM:transaction-use:1:1000000000:key-1";
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RBucket<String> bucket;
+
+    @Mock
+    private RScript script;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private final UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 1000L);
+
+    private IdempotencyStore idempotencyStore;
+
+    private IdempotencyStore.Key key;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = idempotencyStore(Duration.ofSeconds(30), new LockProperties());
+        key = idempotencyStore.keyOf("transaction-use", request, "key-1");
+    }
+
+    @DisplayName("키는 사용자/계좌 범위로 나뉨")
+    @Test
+    void keyOf_scopedByOwner() {
+        //given
+        //when
+        IdempotencyStore.Key otherUser = idempotencyStore.keyOf("transaction-use",
+                new UseBalance.Request(2L, "1000000000", 1000L), "key-1");
+        //then
+        assertEquals(REDIS_KEY, key.getRedisKey());
+        assertEquals("IDEM:transaction-use:2:1000000000:key-1", otherUser.getRedisKey());
+        assertNotEquals(key.getRequestHash(), otherUser.getRequestHash());
+    }
+
+    @DisplayName("처리 중인 키는 응답 없음")
+    @Test
+    void find_inProgress() {
+        //given
+        givenBucket();
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(true);
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        idempotencyStore.claim(key);
+        verify(bucket).trySet(captor.capture(), anyLong(), any());
+        given(bucket.get()).willReturn(captor.getValue());
+        //when
+        //then
+        assertNull(idempotencyStore.find(key, UseBalance.Response.class));
+    }
+
+    @DisplayName("Redis 에 저장된 응답을 읽고 이후엔 로컬 캐시에서 응답")
+    @Test
+    void find_fromRedisThenLocal() throws Exception {
+        //given
+        givenBucket();
+        UseBalance.Response response = new UseBalance.Response(
+                "1000000000", S, "transactionId", 1000L, LocalDateTime.of(2024, 1, 1, 0, 0));
+        given(bucket.get()).willReturn(objectMapper.writeValueAsString(new IdempotencyStore.Entry(
+                key.getRequestHash(), null, objectMapper.valueToTree(response))));
+
+        //when
+        UseBalance.Response first = idempotencyStore.find(key, UseBalance.Response.class);
+        UseBalance.Response second = idempotencyStore.find(key, UseBalance.Response.class);
+
+        //then
+        assertEquals("transactionId", first.getTransactionId());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), first.getTransactedAt());
+        assertEquals(first, second);
+        verify(bucket, times(1)).get();
+    }
+
+    @DisplayName("같은 키를 다른 요청 본문으로 재사용 - IDEMPOTENCY_KEY_REUSED")
+    @Test
+    void find_reusedForOtherRequest() throws Exception {
+        //given
+        IdempotencyStore.Key otherAmount = idempotencyStore.keyOf("transaction-use",
+                new UseBalance.Request(1L, "1000000000", 5000L), "key-1");
+        given(redissonClient.<String>getBucket(eq(REDIS_KEY), any(Codec.class))).willReturn(bucket);
+        given(bucket.get()).willReturn(objectMapper.writeValueAsString(new IdempotencyStore.Entry(
+                key.getRequestHash(), null, objectMapper.valueToTree(UseBalance.Response.builder().build()))));
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyStore.find(otherAmount, UseBalance.Response.class));
+        //then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+    }
+
+    @DisplayName("선점은 처리 중 TTL, 완료는 자신의 선점일 때만 응답 TTL 로 저장")
+    @Test
+    void claimAndComplete() {
+        //given
+        givenBucket();
+        given(bucket.trySet(anyString(), eq(30_000L), eq(TimeUnit.MILLISECONDS))).willReturn(true);
+        String claim = idempotencyStore.claim(key);
+        givenCompleteScript(claim, true);
+
+        //when
+        idempotencyStore.complete(key, claim, new UseBalance.Response("1000000000", S, "transactionId", 1000L, null));
+
+        //then
+        assertNotNull(claim);
+        verify(bucket, never()).set(anyString(), anyLong(), any());
+        assertEquals("transactionId",
+                idempotencyStore.find(key, UseBalance.Response.class).getTransactionId());
+    }
+
+    @DisplayName("선점이 만료되어 다른 요청이 다시 선점했으면 응답을 저장하지 않음")
+    @Test
+    void complete_claimLost() {
+        //given
+        givenBucket();
+        givenCompleteScript("expired-claim", false);
+        //when
+        idempotencyStore.complete(key, "expired-claim",
+                new UseBalance.Response("1000000000", S, "transactionId", 1000L, null));
+        //then
+        // 로컬 캐시에도 남기지 않아 다른 요청의 응답을 Redis 에서 읽는다
+        assertNull(idempotencyStore.find(key, UseBalance.Response.class));
+        verify(bucket, times(1)).get();
+    }
+
+    @DisplayName("응답 저장 실패 - 이미 처리된 요청이므로 예외를 던지지 않음")
+    @Test
+    void complete_redisFailure() {
+        //given
+        given(redissonClient.getScript(any(Codec.class))).willReturn(script);
+        given(script.eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.BOOLEAN),
+                eq(List.of(REDIS_KEY)), any(), any(), any()))
+                .willThrow(new RedisException("connection lost"));
+        //when
+        //then
+        assertDoesNotThrow(() -> idempotencyStore.complete(key, "claim",
+                new UseBalance.Response("1000000000", S, "transactionId", 1000L, null)));
+    }
+
+    @DisplayName("처리 중 TTL 이 요청의 최대 대기 시간(대기 + 락 대기 + 지연 주입)보다 짧으면 시작 실패")
+    @Test
+    void inProgressTtl_shorterThanRequestWait() {
+        //given
+        LockProperties.Policy policy = new LockProperties.Policy();
+        policy.setWaitTime(Duration.ofSeconds(20));
+        LockProperties lockProperties = new LockProperties();
+        lockProperties.setPolicies(Map.of("transaction-use", policy));
+        //when
+        //then
+        // 10s(hot/actor 대기) + 20s(락 대기) >= 30s
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyStore(Duration.ofSeconds(30), lockProperties));
+        assertDoesNotThrow(() -> idempotencyStore(Duration.ofSeconds(31), lockProperties));
+    }
+
+    @DisplayName("해제는 자신의 선점 값일 때만 삭제")
+    @Test
+    void release_compareAndDelete() {
+        //given
+        givenBucket();
+        given(bucket.trySet(anyString(), anyLong(), any())).willReturn(true);
+        String claim = idempotencyStore.claim(key);
+        //when
+        idempotencyStore.release(key, claim);
+        //then
+        verify(bucket, times(1)).compareAndSet(claim, null);
+    }
+
+    private IdempotencyStore idempotencyStore(Duration inProgressTtl, LockProperties lockProperties) {
+        return new IdempotencyStore(
+                redissonClient,
+                new ConcurrentMapCacheManager(CacheConfig.IDEMPOTENCY),
+                objectMapper,
+                Duration.ofHours(24),
+                inProgressTtl,
+                10_000L,
+                10_000L,
+                lockProperties,
+                new FaultInjectionProperties());
+    }
+
+    private void givenCompleteScript(String claim, boolean stored) {
+        given(redissonClient.getScript(any(Codec.class))).willReturn(script);
+        given(script.<Boolean>eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.BOOLEAN),
+                eq(List.of(REDIS_KEY)), eq(claim), anyString(), eq(String.valueOf(Duration.ofHours(24).toMillis()))))
+                .willReturn(stored);
+    }
+
+    private void givenBucket() {
+        given(redissonClient.<String>getBucket(eq(REDIS_KEY), any(Codec.class))).willReturn(bucket);
+    }
+}
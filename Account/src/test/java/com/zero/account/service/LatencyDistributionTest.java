@@ -0,0 +1,49 @@
+package com.zero.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LatencyDistributionTest {
+
+    @DisplayName("백분위 구간 사이는 선형 보간")
+    @Test
+    void interpolateBetweenPercentiles() {
+        //given
+        LatencyDistribution distribution = LatencyDistribution.of(Map.of(
+                "p50", 0L,
+                "p90", 100L,
+                "p99", 5000L
+        ));
+        //when
+        //then
+        assertEquals(0L, distribution.delayAt(10.0));
+        assertEquals(0L, distribution.delayAt(50.0));
+        assertEquals(50L, distribution.delayAt(70.0));
+        assertEquals(100L, distribution.delayAt(90.0));
+        assertEquals(5000L, distribution.delayAt(99.5));
+    }
+
+    @DisplayName("설정이 없으면 지연 없음")
+    @Test
+    void emptyDistribution() {
+        //given
+        LatencyDistribution distribution = LatencyDistribution.of(Map.of());
+        //when
+        //then
+        assertEquals(0L, distribution.delayAt(99.9));
+    }
+
+    @DisplayName("잘못된 백분위 설정")
+    @Test
+    void invalidPercentile() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LatencyDistribution.of(Map.of("p101", 10L)));
+        assertThrows(IllegalArgumentException.class,
+                () -> LatencyDistribution.of(Map.of("p50", -1L)));
+    }
+}
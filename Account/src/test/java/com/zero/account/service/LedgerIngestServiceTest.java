@@ -0,0 +1,131 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.Transaction;
+import com.zero.account.dto.AccountLedgerView;
+import com.zero.account.dto.LedgerEntry;
+import com.zero.account.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.zero.account.type.TransactionResultType.S;
+import static com.zero.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerIngestServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private LedgerIngestService ledgerIngestService;
+
+    @BeforeEach
+    void setUp() {
+        ledgerIngestService = new LedgerIngestService(entityManager, accountRepository, 2);
+    }
+
+    @DisplayName("flushSize 마다 flush/clear, 계좌 없는 항목은 건너뜀")
+    @Test
+    void ingestFlushesEveryBatch() {
+        //given
+        given(accountRepository.findLedgerViewsByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(
+                        ledgerView(1L, "1000000000", 10_000L),
+                        ledgerView(2L, "1000000001", 20_000L)));
+        given(entityManager.getReference(eq(Account.class), any()))
+                .willAnswer(invocation -> Account.builder().id(invocation.getArgument(1)).build());
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        int persisted = ledgerIngestService.ingest(List.of(
+                entry("1000000000", null, "tx1"),
+                entry("1000000001", 5_000L, "tx2"),
+                entry("9999999999", null, "tx3"),
+                entry("1000000000", null, "tx4")));
+
+        //then
+        assertEquals(3, persisted);
+        verify(entityManager, times(3)).persist(captor.capture());
+        // 2건째에서 한 번, 마지막에 한 번
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+
+        List<Transaction> transactions = captor.getAllValues();
+        assertEquals("tx1", transactions.get(0).getTransactionId());
+        assertEquals(1L, transactions.get(0).getAccount().getId());
+        assertEquals(10_000L, transactions.get(0).getBalanceSnapshot());
+        assertEquals(5_000L, transactions.get(1).getBalanceSnapshot());
+        assertEquals("tx4", transactions.get(2).getTransactionId());
+    }
+
+    @DisplayName("빈 목록은 조회 없이 종료")
+    @Test
+    void ingestEmpty() {
+        //given
+        //when
+        int persisted = ledgerIngestService.ingest(List.of());
+
+        //then
+        assertEquals(0, persisted);
+        verifyNoInteractions(accountRepository);
+        verify(entityManager, never()).flush();
+    }
+
+    private LedgerEntry entry(String accountNumber, Long balanceSnapshot, String transactionId) {
+        return LedgerEntry.builder()
+                .accountNumber(accountNumber)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(1000L)
+                .balanceSnapshot(balanceSnapshot)
+                .transactionId(transactionId)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private AccountLedgerView ledgerView(Long id, String accountNumber, Long balance) {
+        return new AccountLedgerView() {
+            @Override
+            public String getAccountNumber() {
+                return accountNumber;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBalance() {
+                return balance;
+            }
+
+            @Override
+            public Long getLedgerSequence() {
+                return 0L;
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.zero.account.service;
+
+import com.zero.account.domain.Account;
+import com.zero.account.domain.AccountBalanceSnapshot;
+import com.zero.account.dto.AccountKey;
+import com.zero.account.dto.LedgerBalance;
+import com.zero.account.dto.LedgerTail;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.AccountBalanceSnapshotRepository;
+import com.zero.account.repository.AccountRepository;
+import com.zero.account.repository.TransactionRepository;
+import com.zero.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountBalanceSnapshotRepository snapshotRepository;
+
+    @InjectMocks
+    private LedgerService ledgerService;
+
+    @DisplayName("잔액 = 최근 스냅샷 + 이후 거래")
+    @Test
+    void getBalance() {
+        //given
+        given(accountRepository.findKeyByAccountNumber("1000000002"))
+                .willReturn(Optional.of(new AccountKey(7L, 1L)));
+        given(snapshotRepository.findTopByAccountIdOrderByLedgerSequenceDesc(7L))
+                .willReturn(Optional.of(snapshot(100L, 10000L)));
+        given(transactionRepository.findLedgerTail(7L, 100L))
+                .willReturn(new LedgerTail(-1500L, 103L));
+        //when
+        LedgerBalance ledgerBalance = ledgerService.getBalance("1000000002");
+        //then
+        assertEquals("1000000002", ledgerBalance.getAccountNumber());
+        assertEquals(8500L, ledgerBalance.getBalance());
+        assertEquals(103L, ledgerBalance.getLedgerSequence());
+    }
+
+    @DisplayName("잔액 조회 실패 - 계좌 없음")
+    @Test
+    void getBalance_AccountNotFound() {
+        //given
+        given(accountRepository.findKeyByAccountNumber(anyString()))
+                .willReturn(Optional.empty());
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> ledgerService.getBalance("1000000002"));
+        //then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+    }
+
+    @DisplayName("이후 거래가 있으면 새 스냅샷 저장")
+    @Test
+    void snapshot() {
+        //given
+        Account account = Account.builder().accountNumber("1000000002").build();
+        given(snapshotRepository.findTopByAccountIdOrderByLedgerSequenceDesc(7L))
+                .willReturn(Optional.of(snapshot(100L, 10000L)));
+        given(transactionRepository.findLedgerTail(7L, 100L))
+                .willReturn(new LedgerTail(500L, 200L));
+        given(accountRepository.getReferenceById(7L))
+                .willReturn(account);
+
+        ArgumentCaptor<AccountBalanceSnapshot> captor = ArgumentCaptor.forClass(AccountBalanceSnapshot.class);
+        //when
+        boolean written = ledgerService.snapshot(7L);
+        //then
+        assertTrue(written);
+        verify(snapshotRepository, times(1)).save(captor.capture());
+        assertEquals(200L, captor.getValue().getLedgerSequence());
+        assertEquals(10500L, captor.getValue().getBalance());
+        assertEquals(account, captor.getValue().getAccount());
+        verify(accountRepository, times(1)).updateLastSnapshotSequence(7L, 200L);
+    }
+
+    @DisplayName("이후 거래가 없으면 스냅샷을 쓰지 않음")
+    @Test
+    void snapshot_NoNewEntries() {
+        //given
+        given(snapshotRepository.findTopByAccountIdOrderByLedgerSequenceDesc(7L))
+                .willReturn(Optional.of(snapshot(100L, 10000L)));
+        given(transactionRepository.findLedgerTail(7L, 100L))
+                .willReturn(new LedgerTail(0L, 100L));
+        //when
+        boolean written = ledgerService.snapshot(7L);
+        //then
+        assertFalse(written);
+        verify(snapshotRepository, never()).save(any());
+        verify(accountRepository, never()).updateLastSnapshotSequence(any(), anyLong());
+    }
+
+    private AccountBalanceSnapshot snapshot(Long ledgerSequence, Long balance) {
+        return AccountBalanceSnapshot.builder()
+                .ledgerSequence(ledgerSequence)
+                .balance(balance)
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.zero.account.service;
+
+import com.zero.account.config.LockProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalStripedLockProviderTest {
+
+    private final LocalStripedLockProvider lockProvider =
+            new LocalStripedLockProvider(new LockProperties());
+
+    @DisplayName("같은 계좌는 다른 스레드에서 획득 불가")
+    @Test
+    void sameKeyIsExclusiveAcrossThreads() throws Exception {
+        //given
+        assertTrue(lockProvider.tryLock("ACLK:1000000000", 0, -1, TimeUnit.MILLISECONDS));
+        //when
+        boolean acquiredByOther = CompletableFuture.supplyAsync(() -> {
+            try {
+                return lockProvider.tryLock("ACLK:1000000000", 10, -1, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+        //then
+        assertFalse(acquiredByOther);
+        lockProvider.unlock("ACLK:1000000000");
+    }
+
+    @DisplayName("해제 후 다른 스레드에서 획득 가능")
+    @Test
+    void acquireAfterUnlock() throws Exception {
+        //given
+        assertTrue(lockProvider.tryLock("ACLK:1000000000", 0, -1, TimeUnit.MILLISECONDS));
+        lockProvider.unlock("ACLK:1000000000");
+        //when
+        boolean acquiredByOther = CompletableFuture.supplyAsync(() -> {
+            try {
+                boolean locked = lockProvider.tryLock("ACLK:1000000000", 10, -1, TimeUnit.MILLISECONDS);
+                lockProvider.unlock("ACLK:1000000000");
+                return locked;
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+        //then
+        assertTrue(acquiredByOther);
+    }
+}
@@ -1,5 +1,8 @@
 package com.zero.account.service;
 
+import com.zero.account.aop.AccountLock;
+import com.zero.account.controller.TransactionController;
+import com.zero.account.dto.CancelBalance;
 import com.zero.account.dto.UseBalance;
 import com.zero.account.exception.AccountException;
 import com.zero.account.type.ErrorCode;
@@ -14,7 +17,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -24,28 +32,36 @@ class LockAopAspectTest {
     @Mock
     private LockService lockService;
 
+    @Mock
+    private HotAccountDetector hotAccountDetector;
+
     @Mock
     private ProceedingJoinPoint pjp;
 
     @InjectMocks
     private LockAopAspect lockAopAspect;
 
+    private final LockService.LockPolicy policy = new LockService.LockPolicy("transaction-use", 5000L, -1L);
+
     @DisplayName("lockAndUnlock")
     @Test
     void lockAndUnlock() throws Throwable{
         //given
         ArgumentCaptor<String> lockCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<String> unlockCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<LockService.AcquiredLock> unlockCaptor = ArgumentCaptor.forClass(LockService.AcquiredLock.class);
 
         UseBalance.Request request = new UseBalance.Request(123L, "1234567890", 10000L);
+        LockService.AcquiredLock acquiredLock = new LockService.AcquiredLock("ACLK:1234567890", policy, 0L);
+        given(lockService.policyOf("transaction-use", 5000L, -1L)).willReturn(policy);
+        given(lockService.lock(anyString(), any())).willReturn(acquiredLock);
         //when
-        lockAopAspect.aroundMethod(pjp, request);
+        lockAopAspect.aroundMethod(pjp, useBalanceLock(), request);
         //then
-        verify(lockService,times(1)).lock(lockCaptor.capture());
+        verify(lockService,times(1)).lock(lockCaptor.capture(), any());
         verify(lockService,times(1)).unlock(unlockCaptor.capture());
 
         assertEquals("1234567890", lockCaptor.getValue());
-        assertEquals("1234567890", unlockCaptor.getValue());
+        assertEquals(acquiredLock, unlockCaptor.getValue());
     }
 
     @DisplayName("lockAndUnlock_eventIfThrow")
@@ -53,21 +69,64 @@ class LockAopAspectTest {
     void lockAndUnlock_eventIfThrow() throws Throwable{
         //given
         ArgumentCaptor<String> lockCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<String> unlockCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<LockService.AcquiredLock> unlockCaptor = ArgumentCaptor.forClass(LockService.AcquiredLock.class);
 
         UseBalance.Request request = new UseBalance.Request(123L, "1234567890", 10000L);
+        LockService.AcquiredLock acquiredLock = new LockService.AcquiredLock("ACLK:1234567890", policy, 0L);
+        given(lockService.policyOf("transaction-use", 5000L, -1L)).willReturn(policy);
+        given(lockService.lock(anyString(), any())).willReturn(acquiredLock);
 
         given(pjp.proceed()).willThrow(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
         //when
-        assertThrows(AccountException.class, () -> lockAopAspect.aroundMethod(pjp, request));
+        assertThrows(AccountException.class, () -> lockAopAspect.aroundMethod(pjp, useBalanceLock(), request));
 
 //        lockAopAspect.aroundMethod(pjp, request);
         //then
-        verify(lockService,times(1)).lock(lockCaptor.capture());
+        verify(lockService,times(1)).lock(lockCaptor.capture(), any());
         verify(lockService,times(1)).unlock(unlockCaptor.capture());
 
         assertEquals("1234567890", lockCaptor.getValue());
-        assertEquals("1234567890", unlockCaptor.getValue());
+        assertEquals(acquiredLock, unlockCaptor.getValue());
+    }
+
+    @DisplayName("hot account 는 요청마다 락을 잡지 않음")
+    @Test
+    void hotAccountSkipsLock() throws Throwable {
+        //given
+        UseBalance.Request request = new UseBalance.Request(123L, "1234567890", 10000L);
+        given(hotAccountDetector.isHot("1234567890")).willReturn(true);
+        //when
+        lockAopAspect.aroundMethod(pjp, useBalanceLock(), request);
+        //then
+        verify(pjp, times(1)).proceed();
+        verify(lockService, never()).lock(anyString(), any());
     }
 
-}
\ No newline at end of file
+    @DisplayName("hotAccountRouting 이 없는 메서드는 hot account 여도 락을 잡음")
+    @Test
+    void hotAccountRoutingDisabled() throws Throwable {
+        //given
+        CancelBalance.Request request = new CancelBalance.Request("transactionId", "1234567890", 10000L);
+        LockService.AcquiredLock acquiredLock = new LockService.AcquiredLock("ACLK:1234567890", policy, 0L);
+        given(lockService.policyOf(eq("transaction-cancel"), anyLong(), anyLong())).willReturn(policy);
+        given(lockService.lock(anyString(), any())).willReturn(acquiredLock);
+        //when
+        lockAopAspect.aroundMethod(pjp, cancelBalanceLock(), request);
+        //then
+        verify(hotAccountDetector, never()).isHot(anyString());
+        verify(lockService, times(1)).lock("1234567890", policy);
+        verify(lockService, times(1)).unlock(acquiredLock);
+    }
+
+    private AccountLock cancelBalanceLock() throws NoSuchMethodException {
+        return TransactionController.class
+                .getMethod("cancelBalance", CancelBalance.Request.class)
+                .getAnnotation(AccountLock.class);
+    }
+
+    private AccountLock useBalanceLock() throws NoSuchMethodException {
+        return TransactionController.class
+                .getMethod("useBalance", UseBalance.Request.class)
+                .getAnnotation(AccountLock.class);
+    }
+}
@@ -1,58 +1,184 @@
 package com.zero.account.service;
 
+import com.zero.account.config.LockProperties;
 import com.zero.account.exception.AccountException;
 import com.zero.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class LockServiceTest {
 
     @Mock
-    private RedissonClient redissonClient;
+    private LockProvider localLockProvider;
 
     @Mock
-    private RLock rLock;
+    private LockProvider redisLockProvider;
+
+    private final LockProperties lockProperties = new LockProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
-    @InjectMocks
     private LockService lockService;
 
+    private final LockService.LockPolicy policy = new LockService.LockPolicy("transaction-use", 1000L, -1L);
+
+    @BeforeEach
+    void setUp() {
+        lockService = new LockService(List.of(localLockProvider, redisLockProvider), lockProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
     @DisplayName("getLock 성공")
     @Test
     void successGetLock() throws InterruptedException {
         //given
-        given(redissonClient.getLock(anyString())).willReturn(rLock);
-
-        given(rLock.tryLock(anyLong(),anyLong(),any())).willReturn(true);
+        given(localLockProvider.tryLock(anyString(), anyLong(), anyLong(), any())).willReturn(true);
+        given(redisLockProvider.tryLock(anyString(), anyLong(), anyLong(), any())).willReturn(true);
         //when
-        assertDoesNotThrow(() -> lockService.lock("123456789"));
+        LockService.AcquiredLock acquiredLock = lockService.lock("123456789", policy);
         //then
-
+        InOrder inOrder = inOrder(localLockProvider, redisLockProvider);
+        inOrder.verify(localLockProvider).tryLock(eq("ACLK:123456789"), anyLong(), eq(-1L), eq(TimeUnit.NANOSECONDS));
+        inOrder.verify(redisLockProvider).tryLock(eq("ACLK:123456789"), anyLong(), eq(-1L), eq(TimeUnit.NANOSECONDS));
+        assertEquals("ACLK:123456789", acquiredLock.getLockKey());
+        assertEquals(1L, meterRegistry.get("account.lock.wait").tag("result", "acquired").timer().count());
     }
 
     @DisplayName("getLock 실패")
     @Test
     void failGetLock() throws InterruptedException {
         //given
-        given(redissonClient.getLock(anyString())).willReturn(rLock);
-        given(rLock.tryLock(anyLong(),anyLong(),any())).willReturn(false);
+        given(localLockProvider.tryLock(anyString(), anyLong(), anyLong(), any())).willReturn(false);
         //when
         AccountException accountException = assertThrows(
                 AccountException.class,
-                () -> lockService.lock("123456789")
+                () -> lockService.lock("123456789", policy)
         );
 
         //then
         assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        verify(redisLockProvider, never()).tryLock(anyString(), anyLong(), anyLong(), any());
+        assertEquals(1.0, meterRegistry.get("account.lock.failures").tag("reason", "timeout").counter().count());
+    }
+
+    @DisplayName("Redis 락 실패 시 로컬 락 해제")
+    @Test
+    void failGetRedisLock_releaseLocalLock() throws InterruptedException {
+        //given
+        given(localLockProvider.tryLock(anyString(), anyLong(), anyLong(), any())).willReturn(true);
+        given(redisLockProvider.tryLock(anyString(), anyLong(), anyLong(), any())).willReturn(false);
+        //when
+        AccountException accountException = assertThrows(
+                AccountException.class,
+                () -> lockService.lock("123456789", policy)
+        );
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        verify(localLockProvider, times(1)).unlock("ACLK:123456789");
+        verify(redisLockProvider, never()).unlock(anyString());
+        assertEquals(1L, meterRegistry.get("account.lock.tier.wait").tag("result", "acquired").timer().count());
+        assertEquals(1L, meterRegistry.get("account.lock.tier.wait").tag("result", "failed").timer().count());
+    }
+
+    @DisplayName("대기 중 인터럽트 - 락 없이 진행하지 않음")
+    @Test
+    void interruptedWhileWaiting() throws InterruptedException {
+        //given
+        given(localLockProvider.tryLock(anyString(), anyLong(), anyLong(), any())).willReturn(true);
+        given(redisLockProvider.tryLock(anyString(), anyLong(), anyLong(), any()))
+                .willThrow(new InterruptedException());
+        //when
+        AccountException accountException = assertThrows(
+                AccountException.class,
+                () -> lockService.lock("123456789", policy)
+        );
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        assertTrue(Thread.currentThread().isInterrupted());
+        verify(localLockProvider, times(1)).unlock("ACLK:123456789");
+        assertEquals(1.0, meterRegistry.get("account.lock.failures").tag("reason", "interrupted").counter().count());
+    }
+
+    @DisplayName("unlock 은 획득 역순으로 해제")
+    @Test
+    void unlockInReverseOrder() {
+        //when
+        lockService.unlock(new LockService.AcquiredLock("ACLK:123456789", policy, System.nanoTime()));
+        //then
+        InOrder inOrder = inOrder(localLockProvider, redisLockProvider);
+        inOrder.verify(redisLockProvider).unlock("ACLK:123456789");
+        inOrder.verify(localLockProvider).unlock("ACLK:123456789");
+        assertEquals(1L, meterRegistry.get("account.lock.hold").timer().count());
+    }
+
+    @DisplayName("임대 시간 초과 후 해제")
+    @Test
+    void unlockAfterLeaseExpired() {
+        //given
+        LockService.LockPolicy leasePolicy = new LockService.LockPolicy("transaction-use", 1000L, 10L);
+        given(redisLockProvider.isLeased()).willReturn(true);
+        willThrowIllegalMonitorState();
+        //when
+        lockService.unlock(new LockService.AcquiredLock(
+                "ACLK:123456789", leasePolicy, System.nanoTime() - TimeUnit.SECONDS.toNanos(1)));
+        //then
+        verify(localLockProvider, times(1)).unlock("ACLK:123456789");
+        assertEquals(1.0, meterRegistry.get("account.lock.lease.expired").counter().count());
+    }
+
+    @DisplayName("로컬 락을 다른 스레드에서 해제 - 임대 만료로 세지 않고 예외")
+    @Test
+    void unlockLocalByNonOwner() {
+        //given
+        doThrow(new IllegalMonitorStateException()).when(localLockProvider).unlock(anyString());
+        //when
+        assertThrows(IllegalMonitorStateException.class, () -> lockService.unlock(
+                new LockService.AcquiredLock("ACLK:123456789", policy, System.nanoTime())));
+        //then
+        verify(redisLockProvider, times(1)).unlock("ACLK:123456789");
+        assertEquals(0.0, meterRegistry.get("account.lock.lease.expired").counter().count());
+    }
+
+    @DisplayName("설정의 정책이 어노테이션 값보다 우선")
+    @Test
+    void policyOverriddenByProperties() {
+        //given
+        LockProperties.Policy override = new LockProperties.Policy();
+        override.setWaitTime(Duration.ofMillis(300));
+        lockProperties.getPolicies().put("transaction-use", override);
+        //when
+        LockService.LockPolicy overridden = lockService.policyOf("transaction-use", 5000L, -1L);
+        LockService.LockPolicy annotated = lockService.policyOf("transaction-cancel", 5000L, -1L);
+        //then
+        assertEquals(300L, overridden.getWaitTime());
+        assertEquals(-1L, overridden.getLeaseTime());
+        assertEquals(5000L, annotated.getWaitTime());
+    }
+
+    private void willThrowIllegalMonitorState() {
+        doThrow(new IllegalMonitorStateException()).when(redisLockProvider).unlock(anyString());
     }
-}
\ No newline at end of file
+}
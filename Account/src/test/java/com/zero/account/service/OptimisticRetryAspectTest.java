@@ -0,0 +1,73 @@
+package com.zero.account.service;
+
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ErrorCode;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint pjp;
+
+    @Mock
+    private Signature signature;
+
+    private final OptimisticRetryAspect optimisticRetryAspect = new OptimisticRetryAspect(3, 0L, 0L);
+
+    @DisplayName("버전 충돌 후 재시도 성공")
+    @Test
+    void retryAfterConflict() throws Throwable {
+        //given
+        given(pjp.getSignature()).willReturn(signature);
+        given(pjp.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+                .willReturn("result");
+        //when
+        Object result = optimisticRetryAspect.aroundMethod(pjp);
+        //then
+        assertEquals("result", result);
+        verify(pjp, times(2)).proceed();
+    }
+
+    @DisplayName("재시도 횟수 초과")
+    @Test
+    void retryExhausted() throws Throwable {
+        //given
+        given(pjp.getSignature()).willReturn(signature);
+        given(pjp.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L));
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> optimisticRetryAspect.aroundMethod(pjp));
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        verify(pjp, times(3)).proceed();
+    }
+
+    @DisplayName("비즈니스 예외는 재시도하지 않음")
+    @Test
+    void doNotRetryAccountException() throws Throwable {
+        //given
+        given(pjp.proceed())
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> optimisticRetryAspect.aroundMethod(pjp));
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+        verify(pjp, times(1)).proceed();
+    }
+}
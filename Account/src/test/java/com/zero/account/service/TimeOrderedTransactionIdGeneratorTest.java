@@ -0,0 +1,68 @@
+package com.zero.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedTransactionIdGeneratorTest {
+
+    private final TimeOrderedTransactionIdGenerator generator = new TimeOrderedTransactionIdGenerator(1);
+
+    @DisplayName("32자리 16진수 문자열")
+    @Test
+    void hexRepresentation() {
+        //when
+        String id = generator.nextId();
+        //then
+        assertEquals(32, id.length());
+        assertTrue(id.matches("[0-9a-f]{32}"));
+    }
+
+    @DisplayName("노드 안에서 단조 증가")
+    @Test
+    void monotonic() {
+        //given
+        String previous = generator.nextId();
+        //when
+        //then
+        for (int i = 0; i < 100_000; i++) {
+            String next = generator.nextId();
+            assertTrue(next.compareTo(previous) > 0, previous + " >= " + next);
+            previous = next;
+        }
+    }
+
+    @DisplayName("시계가 뒤로 가도 감소하지 않음")
+    @Test
+    void clockMovesBackwards() {
+        //given
+        long first = generator.nextTimestamp(1_000_000L);
+        //when
+        long second = generator.nextTimestamp(999_000L);
+        //then
+        assertTrue(second > first);
+    }
+
+    @DisplayName("동시 생성 시 중복 없음")
+    @Test
+    void uniqueAcrossThreads() throws InterruptedException {
+        //given
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> ids.add(generator.nextId()));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        //then
+        assertEquals(10_000, ids.size());
+    }
+}
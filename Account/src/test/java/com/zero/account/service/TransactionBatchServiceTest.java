@@ -0,0 +1,168 @@
+package com.zero.account.service;
+
+import com.zero.account.dto.UseBalance;
+import com.zero.account.dto.UseBalanceBatch;
+import com.zero.account.exception.AccountException;
+import com.zero.account.type.ConcurrencyMode;
+import com.zero.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.zero.account.type.TransactionResultType.F;
+import static com.zero.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private AccountCommandDispatcher accountCommandDispatcher;
+
+    private TransactionBatchService transactionBatchService;
+
+    @BeforeEach
+    void setUp() {
+        transactionBatchService = transactionBatchService(ConcurrencyMode.LOCK);
+    }
+
+    private TransactionBatchService transactionBatchService(ConcurrencyMode concurrencyMode) {
+        return new TransactionBatchService(transactionService, lockService, accountCommandDispatcher, concurrencyMode);
+    }
+
+    private final LockService.LockPolicy policy = new LockService.LockPolicy("transaction-use-batch", 5000L, -1L);
+
+    @DisplayName("계좌별로 묶어 락 한 번, 결과는 요청 순서대로")
+    @Test
+    void useBalances_groupByAccount() {
+        //given
+        LockService.AcquiredLock lockA = new LockService.AcquiredLock("ACLK:1000000000", policy, 0L);
+        LockService.AcquiredLock lockB = new LockService.AcquiredLock("ACLK:1000000001", policy, 0L);
+        given(lockService.policyOf(anyString(), anyLong(), anyLong())).willReturn(policy);
+        given(lockService.lock("1000000000", policy)).willReturn(lockA);
+        given(lockService.lock("1000000001", policy)).willReturn(lockB);
+        given(transactionService.useBalanceBatch(eq("1000000000"), any()))
+                .willReturn(List.of(success("1000000000", 100L, "a1"), success("1000000000", 300L, "a2")));
+        given(transactionService.useBalanceBatch(eq("1000000001"), any()))
+                .willReturn(List.of(failure("1000000001", 200L, ErrorCode.AMOUNT_EXCEED_BALANCE)));
+
+        //when
+        List<UseBalanceBatch.Result> results = transactionBatchService.useBalances(List.of(
+                new UseBalance.Request(1L, "1000000000", 100L),
+                new UseBalance.Request(2L, "1000000001", 200L),
+                new UseBalance.Request(1L, "1000000000", 300L)));
+
+        //then
+        assertEquals(3, results.size());
+        assertEquals("a1", results.get(0).getTransactionId());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+        assertEquals("a2", results.get(2).getTransactionId());
+
+        verify(lockService, times(1)).lock("1000000000", policy);
+        verify(lockService, times(1)).lock("1000000001", policy);
+        InOrder inOrder = inOrder(lockService, transactionService);
+        inOrder.verify(lockService).lock("1000000000", policy);
+        inOrder.verify(transactionService).useBalanceBatch(eq("1000000000"), any());
+        inOrder.verify(lockService).unlock(lockA);
+        inOrder.verify(lockService).lock("1000000001", policy);
+
+        verify(transactionService, times(1)).saveFailedUseTransaction("1000000001", 200L);
+        verify(transactionService, never()).saveFailedUseTransaction(eq("1000000000"), anyLong());
+    }
+
+    @DisplayName("락 획득 실패 - 해당 계좌의 모든 건 실패")
+    @Test
+    void useBalances_lockFailed() {
+        //given
+        given(lockService.policyOf(anyString(), anyLong(), anyLong())).willReturn(policy);
+        given(lockService.lock("1000000000", policy))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+
+        //when
+        List<UseBalanceBatch.Result> results = transactionBatchService.useBalances(List.of(
+                new UseBalance.Request(1L, "1000000000", 100L),
+                new UseBalance.Request(1L, "1000000000", 300L)));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, results.get(0).getErrorCode());
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, results.get(1).getErrorCode());
+        verify(transactionService, never()).useBalanceBatch(anyString(), any());
+        verify(lockService, never()).unlock(any());
+        verify(transactionService, times(2)).saveFailedUseTransaction(eq("1000000000"), anyLong());
+    }
+
+    @DisplayName("OPTIMISTIC 모드 - 락 없이 처리, 재시도 후에도 버전 충돌이면 ACCOUNT_TRANSACTION_LOCK")
+    @Test
+    void useBalances_optimisticConflict() {
+        //given
+        transactionBatchService = transactionBatchService(ConcurrencyMode.OPTIMISTIC);
+        given(transactionService.useBalanceBatch(eq("1000000000"), any()))
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L));
+
+        //when
+        List<UseBalanceBatch.Result> results = transactionBatchService.useBalances(List.of(
+                new UseBalance.Request(1L, "1000000000", 100L)));
+
+        //then
+        assertEquals(F, results.get(0).getTransactionResultType());
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, results.get(0).getErrorCode());
+        verify(lockService, never()).lock(anyString(), any());
+    }
+
+    @DisplayName("ACTOR 모드 - 락 없이 계좌 mailbox 에서 처리")
+    @Test
+    void useBalances_actor() {
+        //given
+        transactionBatchService = transactionBatchService(ConcurrencyMode.ACTOR);
+        willAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get())
+                .given(accountCommandDispatcher).execute(eq("1000000000"), any());
+        given(transactionService.useBalanceBatch(eq("1000000000"), any()))
+                .willReturn(List.of(success("1000000000", 100L, "a1")));
+
+        //when
+        List<UseBalanceBatch.Result> results = transactionBatchService.useBalances(List.of(
+                new UseBalance.Request(1L, "1000000000", 100L)));
+
+        //then
+        assertEquals(S, results.get(0).getTransactionResultType());
+        verify(accountCommandDispatcher, times(1)).execute(eq("1000000000"), any());
+        verify(lockService, never()).lock(anyString(), any());
+    }
+
+    private UseBalanceBatch.Result success(String accountNumber, Long amount, String transactionId) {
+        return UseBalanceBatch.Result.builder()
+                .accountNumber(accountNumber)
+                .transactionResultType(S)
+                .transactionId(transactionId)
+                .amount(amount)
+                .build();
+    }
+
+    private UseBalanceBatch.Result failure(String accountNumber, Long amount, ErrorCode errorCode) {
+        return UseBalanceBatch.Result.failure(accountNumber, amount, new AccountException(errorCode));
+    }
+}
@@ -0,0 +1,225 @@
+package com.zero.account.service;
+
+import com.zero.account.config.CacheConfig;
+import com.zero.account.dto.TransactionCreatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zero.account.dto.AccountKey;
+import com.zero.account.dto.TransactionDTO;
+import com.zero.account.dto.TransactionHistory;
+import com.zero.account.dto.TransactionHistoryItem;
+import com.zero.account.exception.AccountException;
+import com.zero.account.repository.AccountRepository;
+import com.zero.account.repository.TransactionRepository;
+import com.zero.account.type.ErrorCode;
+import com.zero.account.type.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Pageable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.zero.account.type.TransactionResultType.S;
+import static com.zero.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionQueryServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private CacheManager cacheManager;
+
+    private TransactionQueryService transactionQueryService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.TRANSACTION);
+        transactionQueryService = new TransactionQueryService(transactionRepository, accountRepository, cacheManager,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @DisplayName("Query Transaction 성공")
+    @Test
+    void successQueryTransaction() {
+        //given
+        LocalDateTime transactedAt = LocalDateTime.now();
+        given(transactionRepository.findTransactionDTOByTransactionId("transactionId"))
+                .willReturn(Optional.of(new TransactionDTO(
+                        "1000000002", USE, S, 1000L, 9000L, "transactionId", transactedAt)));
+        //when
+        TransactionDTO transactionDTO = transactionQueryService.queryTransaction("transactionId");
+        //then
+        assertEquals("transactionId", transactionDTO.getTransactionId());
+        assertEquals(1000L, transactionDTO.getAmount());
+        assertEquals(9000L, transactionDTO.getBalanceSnapshot());
+        assertEquals(USE, transactionDTO.getTransactionType());
+        assertEquals(S, transactionDTO.getTransactionResultType());
+        assertEquals("1000000002", transactionDTO.getAccountNumber());
+        assertEquals(transactedAt, transactionDTO.getTransactedAt());
+    }
+
+    @DisplayName("원거래 없음 - 거래 조회 실패")
+    @Test
+    void queryTransaction_TransactionNotFound() {
+        //given
+        given(transactionRepository.findTransactionDTOByTransactionId(anyString()))
+                .willReturn(Optional.empty());
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionQueryService.queryTransaction("transactionId"));
+        //then
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, accountException.getErrorCode());
+    }
+
+    @DisplayName("커밋된 거래는 조회 캐시에 들어간다")
+    @Test
+    void onTransactionCreated_putsIntoCache() {
+        //given
+        TransactionDTO transactionDTO = new TransactionDTO(
+                "1000000002", USE, S, 1000L, 9000L, "transactionId", LocalDateTime.now());
+        //when
+        transactionQueryService.onTransactionCreated(new TransactionCreatedEvent(transactionDTO));
+        //then
+        assertSame(transactionDTO,
+                cacheManager.getCache(CacheConfig.TRANSACTION).get("transactionId", TransactionDTO.class));
+    }
+
+    @DisplayName("거래 내역 첫 페이지 - 다음 페이지 커서")
+    @Test
+    void getTransactionHistory_firstPage() {
+        //given
+        LocalDateTime now = LocalDateTime.now();
+        given(accountRepository.findKeyByAccountNumber("1000000002"))
+                .willReturn(Optional.of(new AccountKey(7L, 1L)));
+        given(transactionRepository.findHistory(eq(7L), any()))
+                .willReturn(List.of(
+                        historyItem(3L, "t3", now),
+                        historyItem(2L, "t2", now.minusSeconds(1)),
+                        historyItem(1L, "t1", now.minusSeconds(2))));
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        //when
+        TransactionHistory.Response response = transactionQueryService.getTransactionHistory("1000000002", null, 2);
+        //then
+        verify(transactionRepository).findHistory(eq(7L), captor.capture());
+        assertEquals(3, captor.getValue().getPageSize());
+        assertEquals(2, response.getTransactions().size());
+        assertEquals("t2", response.getTransactions().get(1).getTransactionId());
+
+        TransactionHistory.Cursor cursor = TransactionHistory.Cursor.decode(response.getNext());
+        assertEquals(2L, cursor.getId());
+        assertEquals(now.minusSeconds(1), cursor.getTransactedAt());
+    }
+
+    @DisplayName("거래 내역 다음 페이지 - 마지막 페이지면 next 없음")
+    @Test
+    void getTransactionHistory_lastPage() {
+        //given
+        LocalDateTime transactedAt = LocalDateTime.now();
+        String after = new TransactionHistory.Cursor(transactedAt, 2L).encode();
+        given(accountRepository.findKeyByAccountNumber("1000000002"))
+                .willReturn(Optional.of(new AccountKey(7L, 1L)));
+        given(transactionRepository.findHistoryAfter(eq(7L), eq(transactedAt), eq(2L), any()))
+                .willReturn(List.of(historyItem(1L, "t1", transactedAt.minusSeconds(1))));
+        //when
+        TransactionHistory.Response response = transactionQueryService.getTransactionHistory("1000000002", after, 2);
+        //then
+        assertEquals(1, response.getTransactions().size());
+        assertNull(response.getNext());
+        verify(transactionRepository, never()).findHistory(anyLong(), any());
+    }
+
+    @DisplayName("거래 내역 - 잘못된 커서")
+    @Test
+    void getTransactionHistory_invalidCursor() {
+        //given
+        given(accountRepository.findKeyByAccountNumber("1000000002"))
+                .willReturn(Optional.of(new AccountKey(7L, 1L)));
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionQueryService.getTransactionHistory("1000000002", "not-a-cursor", 2));
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, accountException.getErrorCode());
+    }
+
+    @DisplayName("거래 내역 - 계좌 없음")
+    @Test
+    void getTransactionHistory_accountNotFound() {
+        //given
+        given(accountRepository.findKeyByAccountNumber(anyString()))
+                .willReturn(Optional.empty());
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionQueryService.getTransactionHistory("1000000002", null, 2));
+        //then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+    }
+
+    @DisplayName("거래 내역 CSV 내보내기")
+    @Test
+    void exportTransactionHistory_csv() throws IOException {
+        //given
+        LocalDateTime transactedAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        given(transactionRepository.streamHistory(7L))
+                .willReturn(Stream.of(historyItem(2L, "t2", transactedAt), historyItem(1L, "t1", transactedAt)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //when
+        transactionQueryService.exportTransactionHistory(7L, ExportFormat.CSV, outputStream);
+        //then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("transactionId,transactionType,transactionResultType,amount,balanceSnapshot,transactedAt", lines[0]);
+        assertEquals("t2,USE,S,1000,9000,2024-01-02T03:04:05", lines[1]);
+    }
+
+    @DisplayName("거래 내역 NDJSON 내보내기 - 한 줄에 한 건, 내부 id 제외")
+    @Test
+    void exportTransactionHistory_ndjson() throws IOException {
+        //given
+        LocalDateTime transactedAt = LocalDateTime.now();
+        given(transactionRepository.streamHistory(7L))
+                .willReturn(Stream.of(historyItem(2L, "t2", transactedAt), historyItem(1L, "t1", transactedAt)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //when
+        transactionQueryService.exportTransactionHistory(7L, ExportFormat.NDJSON, outputStream);
+        //then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"transactionId\":\"t2\""));
+        assertFalse(lines[0].contains("\"id\""));
+    }
+
+    private TransactionHistoryItem historyItem(Long id, String transactionId, LocalDateTime transactedAt) {
+        return new TransactionHistoryItem(id, transactionId, USE, S, 1000L, 9000L, transactedAt);
+    }
+}
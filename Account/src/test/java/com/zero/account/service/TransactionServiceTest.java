@@ -3,25 +3,40 @@ package com.zero.account.service;
 import com.zero.account.domain.Account;
 import com.zero.account.domain.AccountUser;
 import com.zero.account.domain.Transaction;
+import com.zero.account.dto.AccountBalanceView;
+import com.zero.account.dto.AccountKey;
+import com.zero.account.dto.AccountUserInfo;
+import com.zero.account.dto.TransactionCreatedEvent;
 import com.zero.account.dto.TransactionDTO;
+import com.zero.account.dto.UseBalance;
+import com.zero.account.dto.UseBalanceBatch;
 import com.zero.account.exception.AccountException;
 import com.zero.account.repository.AccountRepository;
 import com.zero.account.repository.AccountUserRepository;
 import com.zero.account.repository.TransactionRepository;
 import com.zero.account.type.AccountStatus;
+import com.zero.account.type.ConcurrencyMode;
 import com.zero.account.type.ErrorCode;
+import com.zero.account.type.TransactionResultType;
+import com.zero.account.type.TransactionType;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static com.zero.account.type.AccountStatus.IN_USE;
+import static com.zero.account.type.TransactionResultType.F;
 import static com.zero.account.type.TransactionResultType.S;
 import static com.zero.account.type.TransactionType.CANCEL;
 import static com.zero.account.type.TransactionType.USE;
@@ -29,6 +44,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -47,9 +64,27 @@ class TransactionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
-    @InjectMocks
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private FailedTransactionRecorder failedTransactionRecorder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private TransactionService transactionService;
 
+    @BeforeEach
+    void setUp() {
+        transactionService = transactionService(ConcurrencyMode.LOCK);
+    }
+
+    private TransactionService transactionService(ConcurrencyMode concurrencyMode) {
+        return new TransactionService(transactionRepository, accountUserRepository, accountRepository,
+                transactionIdGenerator, failedTransactionRecorder, eventPublisher, concurrencyMode);
+    }
+
     @DisplayName("결제 성공")
     @Test
     void successUseBalance() {
@@ -60,8 +95,8 @@ class TransactionServiceTest {
 
         accountUser.setId(1L);
 
-        given(accountUserRepository.findById(1L))
-                .willReturn(Optional.of(accountUser));
+        given(accountUserRepository.findInfoById(1L))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(accountUser)));
 
         given(accountRepository.findByAccountNumber("1000000002"))
                 .willReturn(Optional.of(Account.builder()
@@ -98,14 +133,18 @@ class TransactionServiceTest {
         assertEquals(captor.getValue().getAmount(), 900L);
         assertEquals(transactionDTO.getTransactionId(), "1234567890");
         assertEquals(captor.getValue().getBalanceSnapshot(), 100L);
+        assertEquals(1L, captor.getValue().getLedgerSequence());
 
+        ArgumentCaptor<TransactionCreatedEvent> eventCaptor = ArgumentCaptor.forClass(TransactionCreatedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        assertEquals(transactionDTO, eventCaptor.getValue().getTransaction());
     }
 
     @DisplayName("결제 실패 - 유저가 없음")
     @Test
     void useBalance_UserNotFound() {
         //given
-        given(accountUserRepository.findById(1L))
+        given(accountUserRepository.findInfoById(1L))
                 .willReturn(Optional.empty());
         //when
         //then
@@ -121,8 +160,8 @@ class TransactionServiceTest {
                 .build();
         accountUser.setId(1L);
 
-        given(accountUserRepository.findById(1L))
-                .willReturn(Optional.of(accountUser));
+        given(accountUserRepository.findInfoById(1L))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(accountUser)));
 
         given(accountRepository.findByAccountNumber("1000000002"))
                 .willReturn(Optional.empty());
@@ -145,8 +184,8 @@ class TransactionServiceTest {
                 .build();
         accountUser2.setId(2L);
 
-        given(accountUserRepository.findById(1L))
-                .willReturn(Optional.of(accountUser));
+        given(accountUserRepository.findInfoById(1L))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(accountUser)));
 
         given(accountRepository.findByAccountNumber("1000000002"))
                 .willReturn(Optional.of(Account.builder()
@@ -171,8 +210,8 @@ class TransactionServiceTest {
                 .build();
         accountUser.setId(1L);
 
-        given(accountUserRepository.findById(1L))
-                .willReturn(Optional.of(accountUser));
+        given(accountUserRepository.findInfoById(1L))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(accountUser)));
 
         given(accountRepository.findByAccountNumber("1000000002"))
                 .willReturn(Optional.of(Account.builder()
@@ -197,8 +236,8 @@ class TransactionServiceTest {
 
         accountUser.setId(1L);
 
-        given(accountUserRepository.findById(1L))
-                .willReturn(Optional.of(accountUser));
+        given(accountUserRepository.findInfoById(1L))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(accountUser)));
 
         given(accountRepository.findByAccountNumber("1000000002"))
                 .willReturn(Optional.of(Account.builder()
@@ -229,8 +268,8 @@ class TransactionServiceTest {
 
         accountUser2.setId(2L);
 
-        given(accountUserRepository.findById(1L))
-                .willReturn(Optional.of(accountUser));
+        given(accountUserRepository.findInfoById(1L))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(accountUser)));
 
         given(accountRepository.findByAccountNumber("1000000002"))
                 .willReturn(Optional.of(Account.builder()
@@ -302,6 +341,8 @@ class TransactionServiceTest {
         assertEquals(captor.getValue().getBalanceSnapshot(), 10000L + CANCEL_AMOUNT);
         assertEquals(S, captor.getValue().getTransactionResultType());
         assertEquals(CANCEL, captor.getValue().getTransactionType());
+        assertEquals("transactionId", captor.getValue().getOriginalTransactionId());
+        verify(transactionRepository, times(1)).flush();
         assertEquals(transactionDTO.getAccountNumber(), "1000000002");
         assertEquals(transactionDTO.getTransactionId(), "transactionId");
 
@@ -480,50 +521,401 @@ class TransactionServiceTest {
         assertEquals(accountException.getErrorCode(), ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
     }
 
-    @DisplayName("Query Transaction 성공")
+    @DisplayName("이미 취소된 거래는 다시 취소 불가")
+    @Test
+    void cancelTransaction_AlreadyCanceled() {
+        //given
+        Account account = cancelTargetAccount();
+        Transaction transaction = cancelTargetTransaction(account, USE, S);
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.existsByOriginalTransactionId("transactionId"))
+                .willReturn(true);
+
+        //when
+        AccountException accountException = assertThrows(
+                AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000002", 1000L));
+        //then
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELED, accountException.getErrorCode());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @DisplayName("취소 거래는 다시 취소 불가")
+    @Test
+    void cancelTransaction_CancelTransaction() {
+        //given
+        Account account = cancelTargetAccount();
+        Transaction transaction = cancelTargetTransaction(account, CANCEL, S);
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        //when
+        AccountException accountException = assertThrows(
+                AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000002", 1000L));
+        //then
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELED_OR_FAILED, accountException.getErrorCode());
+    }
+
+    @DisplayName("실패한 거래는 취소 불가")
+    @Test
+    void cancelTransaction_FailedTransaction() {
+        //given
+        Account account = cancelTargetAccount();
+        Transaction transaction = cancelTargetTransaction(account, USE, F);
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        //when
+        AccountException accountException = assertThrows(
+                AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000002", 1000L));
+        //then
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_FAILED, accountException.getErrorCode());
+    }
+
+    @DisplayName("동시 취소는 unique 인덱스 위반으로 이미 취소됨 처리")
     @Test
-    void successQueryTransaction(){
+    void cancelTransaction_ConcurrentCancel() {
         //given
+        Account account = cancelTargetAccount();
+        Transaction transaction = cancelTargetTransaction(account, USE, S);
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        willThrow(constraintViolation("PUBLIC.UK_TRANSACTION_ORIGINAL_TRANSACTION_ID_INDEX_F"))
+                .given(transactionRepository).flush();
+
+        //when
+        AccountException accountException = assertThrows(
+                AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000002", 1000L));
+        //then
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELED, accountException.getErrorCode());
+    }
+
+    @DisplayName("취소 중 다른 제약 위반은 이미 취소됨으로 바꾸지 않고 그대로 던짐")
+    @Test
+    void cancelTransaction_OtherConstraintViolation() {
+        //given
+        Account account = cancelTargetAccount();
+        Transaction transaction = cancelTargetTransaction(account, USE, S);
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        DataIntegrityViolationException violation = constraintViolation("PUBLIC.UK_TRANSACTION_TRANSACTION_ID_INDEX_F");
+        willThrow(violation)
+                .given(transactionRepository).flush();
+
+        //when
+        DataIntegrityViolationException exception = assertThrows(
+                DataIntegrityViolationException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000002", 1000L));
+        //then
+        assertEquals(violation, exception);
+    }
+
+    private DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("Unique index or primary key violation"), constraintName));
+    }
+
+    private Account cancelTargetAccount() {
+        AccountUser accountUser = AccountUser.builder()
+                .name("test")
+                .build();
+        accountUser.setId(1L);
+
         Account account = Account.builder()
+                .accountUser(accountUser)
                 .accountNumber("1000000002")
                 .accountStatus(IN_USE)
                 .balance(10000L)
                 .build();
+        account.setId(1L);
+        return account;
+    }
 
-        Transaction transaction = Transaction.builder()
+    private Transaction cancelTargetTransaction(Account account,
+                                                TransactionType transactionType,
+                                                TransactionResultType transactionResultType) {
+        return Transaction.builder()
+                .account(account)
+                .transactionType(transactionType)
+                .transactionResultType(transactionResultType)
                 .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
                 .amount(1000L)
                 .balanceSnapshot(9000L)
-                .transactionType(USE)
-                .transactionResultType(S)
-                .transactedAt(LocalDateTime.now())
-                .account(account)
                 .build();
+    }
+
+    @DisplayName("ATOMIC 모드 결제 성공 - 엔티티 로딩 없음")
+    @Test
+    void successUseBalanceAtomically() {
+        //given
+        transactionService = transactionService(ConcurrencyMode.ATOMIC);
+        Account account = Account.builder()
+                .accountNumber("1000000002")
+                .build();
+        account.setId(7L);
+
+        given(accountRepository.debit(eq("1000000002"), eq(1L), eq(900L), any()))
+                .willReturn(1);
+        given(accountRepository.findBalanceViewByAccountNumber("1000000002"))
+                .willReturn(Optional.of(balanceView(7L, 100L)));
+        given(accountRepository.getReferenceById(7L))
+                .willReturn(account);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        TransactionDTO transactionDTO = transactionService.useBalance(1L, "1000000002", 900L);
+
+        //then
+        verify(transactionRepository, times(1)).save(captor.capture());
+        verify(accountUserRepository, never()).findInfoById(anyLong());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        assertEquals("1000000002", transactionDTO.getAccountNumber());
+        assertEquals(900L, captor.getValue().getAmount());
+        assertEquals(100L, captor.getValue().getBalanceSnapshot());
+        assertEquals(1L, captor.getValue().getLedgerSequence());
+        assertEquals(USE, captor.getValue().getTransactionType());
+    }
+
+    @DisplayName("ATOMIC 모드 결제 실패 - 실패 사유 판별")
+    @Test
+    void useBalanceAtomically_AmountExceedBalance() {
+        //given
+        transactionService = transactionService(ConcurrencyMode.ATOMIC);
+        AccountUser accountUser = AccountUser.builder()
+                .name("test")
+                .build();
+        accountUser.setId(1L);
+
+        given(accountRepository.debit(eq("1000000002"), eq(1L), eq(1001L), any()))
+                .willReturn(0);
+        given(accountUserRepository.findInfoById(1L))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(accountUser)));
+        given(accountRepository.findByAccountNumber("1000000002"))
+                .willReturn(Optional.of(Account.builder()
+                        .accountNumber("1000000002")
+                        .accountStatus(IN_USE)
+                        .accountUser(accountUser)
+                        .balance(1000L)
+                        .build()));
+        //when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, "1000000002", 1001L));
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @DisplayName("ATOMIC 모드 결제 취소 성공")
+    @Test
+    void successCancelBalanceAtomically() {
+        //given
+        transactionService = transactionService(ConcurrencyMode.ATOMIC);
+        Account account = Account.builder()
+                .accountNumber("1000000002")
+                .accountStatus(IN_USE)
+                .balance(9000L)
+                .build();
+        account.setId(7L);
 
         given(transactionRepository.findByTransactionId("transactionId"))
-                .willReturn(Optional.of(transaction));
+                .willReturn(Optional.of(Transaction.builder()
+                        .account(account)
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .transactionId("transactionId")
+                        .transactedAt(LocalDateTime.now())
+                        .amount(CANCEL_AMOUNT)
+                        .balanceSnapshot(9000L)
+                        .build()));
+        given(accountRepository.findKeyByAccountNumber("1000000002"))
+                .willReturn(Optional.of(new AccountKey(7L, 1L)));
+        given(accountRepository.credit(eq(7L), eq(CANCEL_AMOUNT), any()))
+                .willReturn(1);
+        given(accountRepository.findBalanceViewByAccountNumber("1000000002"))
+                .willReturn(Optional.of(balanceView(7L, 10000L)));
+        given(accountRepository.getReferenceById(7L))
+                .willReturn(account);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
         //when
-        TransactionDTO transactionDTO = transactionService.queryTransaction("transactionId");
+        transactionService.cancelBalance("transactionId", "1000000002", CANCEL_AMOUNT);
+
         //then
-        assertEquals(transactionDTO.getTransactionId(), "transactionId");
-        assertEquals(transactionDTO.getAmount(), 1000L);
-        assertEquals(transactionDTO.getBalanceSnapshot(), 9000L);
-        assertEquals(transactionDTO.getTransactionType(), USE);
-        assertEquals(transactionDTO.getTransactionResultType(), S);
-        assertEquals(transactionDTO.getAccountNumber(), "1000000002");
+        verify(transactionRepository, times(1)).save(captor.capture());
+        assertEquals(10000L, captor.getValue().getBalanceSnapshot());
+        assertEquals(CANCEL, captor.getValue().getTransactionType());
+    }
+
+    @DisplayName("일괄 잔액 사용 - 계좌 한 번 조회, 순서대로 차감, 실패 건만 실패 결과")
+    @Test
+    void useBalanceBatch_partialFailure() {
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .name("test")
+                .build();
+        accountUser.setId(1L);
+
+        Account account = Account.builder()
+                .accountNumber("1000000002")
+                .accountStatus(IN_USE)
+                .accountUser(accountUser)
+                .balance(1000L)
+                .build();
+
+        given(accountRepository.findByAccountNumber("1000000002"))
+                .willReturn(Optional.of(account));
+        given(accountUserRepository.findInfoById(1L))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(accountUser)));
+        given(transactionIdGenerator.nextId())
+                .willReturn("tx1", "tx2");
+
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        List<UseBalanceBatch.Result> results = transactionService.useBalanceBatch("1000000002", List.of(
+                new UseBalance.Request(1L, "1000000002", 300L),
+                new UseBalance.Request(1L, "1000000002", 800L),
+                new UseBalance.Request(1L, "1000000002", 700L)));
 
+        //then
+        verify(accountRepository, times(1)).findByAccountNumber("1000000002");
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(700L, captor.getValue().get(0).getBalanceSnapshot());
+        assertEquals(0L, captor.getValue().get(1).getBalanceSnapshot());
+        assertEquals(0L, account.getBalance());
+
+        assertEquals("tx1", results.get(0).getTransactionId());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+        assertEquals("tx2", results.get(2).getTransactionId());
     }
 
-    @DisplayName("원거래 없음 - 거래 조회 실패")
+    @DisplayName("일괄 잔액 사용 - 계좌 없음, 모든 건 ACCOUNT_NOT_FOUND")
     @Test
-    void queryTransaction_TransactionNotFound() {
+    void useBalanceBatch_accountNotFound() {
         //given
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(accountRepository.findByAccountNumber("1000000002"))
                 .willReturn(Optional.empty());
 
         //when
-        AccountException accountException = assertThrows(AccountException.class, () -> transactionService.queryTransaction("transactionId"));
+        List<UseBalanceBatch.Result> results = transactionService.useBalanceBatch("1000000002", List.of(
+                new UseBalance.Request(1L, "1000000002", 300L),
+                new UseBalance.Request(1L, "1000000002", 800L)));
+
         //then
-        assertEquals(accountException.getErrorCode(), ErrorCode.TRANSACTION_NOT_FOUND);
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, results.get(0).getErrorCode());
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, results.get(1).getErrorCode());
+        verify(transactionRepository, never()).saveAll(any());
+    }
+
+    @DisplayName("ATOMIC 모드 일괄 잔액 사용 - 건마다 조건부 UPDATE, 실패 건만 실패 결과")
+    @Test
+    void useBalanceBatchAtomically_partialFailure() {
+        //given
+        transactionService = transactionService(ConcurrencyMode.ATOMIC);
+        AccountUser accountUser = AccountUser.builder()
+                .name("test")
+                .build();
+        accountUser.setId(1L);
+        Account account = Account.builder()
+                .accountNumber("1000000002")
+                .accountStatus(IN_USE)
+                .accountUser(accountUser)
+                .balance(700L)
+                .build();
+        account.setId(7L);
+
+        given(accountRepository.debit(eq("1000000002"), eq(1L), eq(300L), any()))
+                .willReturn(1);
+        given(accountRepository.debit(eq("1000000002"), eq(1L), eq(800L), any()))
+                .willReturn(0);
+        given(accountRepository.findBalanceViewByAccountNumber("1000000002"))
+                .willReturn(Optional.of(balanceView(7L, 700L)));
+        given(accountRepository.getReferenceById(7L))
+                .willReturn(account);
+        given(accountUserRepository.findInfoById(1L))
+                .willReturn(Optional.of(AccountUserInfo.fromEntity(accountUser)));
+        given(accountRepository.findByAccountNumber("1000000002"))
+                .willReturn(Optional.of(account));
+        given(transactionIdGenerator.nextId())
+                .willReturn("tx1");
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        List<UseBalanceBatch.Result> results = transactionService.useBalanceBatch("1000000002", List.of(
+                new UseBalance.Request(1L, "1000000002", 300L),
+                new UseBalance.Request(1L, "1000000002", 800L)));
+
+        //then
+        assertEquals("tx1", results.get(0).getTransactionId());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+        verify(transactionRepository, times(1)).save(any());
+        verify(transactionRepository, never()).saveAll(any());
+    }
+
+    @DisplayName("실패 거래 기록 - 기록기에 위임, 계좌 조회 없음")
+    @Test
+    void saveFailedUseTransaction_delegatesToRecorder() {
+        //given
+        //when
+        transactionService.saveFailedUseTransaction("1000000002", 1000L);
+        transactionService.saveFailedCancelTransaction("1000000002", 1000L);
+
+        //then
+        verify(failedTransactionRecorder, times(1)).record("1000000002", 1000L, USE);
+        verify(failedTransactionRecorder, times(1)).record("1000000002", 1000L, CANCEL);
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    private AccountBalanceView balanceView(Long id, Long balance) {
+        return new AccountBalanceView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBalance() {
+                return balance;
+            }
+
+            @Override
+            public Long getLedgerSequence() {
+                return 1L;
+            }
+        };
     }
-}
\ No newline at end of file
+}